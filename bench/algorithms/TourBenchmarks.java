@@ -0,0 +1,198 @@
+package algorithms;
+
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * benchmarks of the solvers and the steps they are built from over square, rectangular
+ * and odd by odd boards, run with Benchmark. They live in their own source folder so
+ * they are not part of the library, but share its package to reach the package private
+ * methods.
+ *
+ * Pass a word as the first argument to only run the benchmarks whose names contain it,
+ * for example "DNCTour" or "oddTour".
+ *
+ * @since 10/17/2026
+ */
+public class TourBenchmarks {
+	// shapes of board for each benchmark, as { ranks, files }
+	private static final int[][] DNC_SHAPES = { { 16, 16 }, { 64, 64 }, { 256, 256 }, { 24, 32 }, { 96, 128 },
+			{ 8, 1000 }, { 10, 10000 }, { 100, 2000 } };
+	private static final int[][] OPEN_SHAPES = { { 5, 5 }, { 6, 6 }, { 8, 8 }, { 5, 6 }, { 7, 7 } };
+	private static final int[][] STRUCTURED_SHAPES = { { 6, 6 }, { 8, 8 }, { 6, 8 }, { 8, 6 } };
+	private static final int[][] ODD_SHAPES = { { 5, 5 }, { 7, 7 }, { 7, 9 }, { 9, 9 } };
+	private static final int[][] MOVE_SHAPES = { { 8, 8 }, { 64, 64 }, { 8, 64 }, { 63, 63 } };
+	private static final int[][] HEURISTIC_SHAPES = { { 64, 64 }, { 256, 256 }, { 1000, 1000 }, { 100, 1000 } };
+	private static final int[][] JOIN_SHAPES = { { 16, 16 }, { 256, 256 }, { 96, 128 }, { 48, 64 } };
+	private static final int[][] BASE_CASE_SHAPES = { { 6, 6 }, { 8, 8 }, { 7, 7 }, { 5, 9 }, { 6, 9 } };
+	private static final int[][] OPEN_COUNT_SHAPES = { { 5, 5 }, { 4, 6 }, { 3, 10 } };
+	private static final int[][] CLOSED_COUNT_SHAPES = { { 6, 6 }, { 5, 6 }, { 3, 12 } };
+
+	private static String filter;
+
+	/**
+	 * runs the benchmarks and prints a line of results for each
+	 *
+	 * @param args an optional word the names of the benchmarks to run must contain
+	 * @since 10/17/2026
+	 */
+	public static void main(String[] args) {
+		filter = args.length > 0 ? args[0] : "";
+
+		for (int[] shape : DNC_SHAPES) {
+			int ranks = shape[0];
+			int files = shape[1];
+			if (!solves(new Tour(ranks, files).DNCTour(), "DNCTour")) {
+				continue;
+			}
+			run(new Benchmark("DNCTour " + name(shape)), () -> new Tour(ranks, files), Tour::DNCTour);
+			// every base case shape is searched once, past the tile pack
+			SolverOptions cold = new SolverOptions();
+			cold.setTilePack(false);
+			run(new Benchmark("DNC start cold cache, no tile pack " + name(shape)), () -> {
+				TourCache.shared().clear();
+				return new Tour(ranks, files);
+			}, t -> {
+				t.start(cold);
+				return t;
+			});
+		}
+
+		for (int[] shape : OPEN_SHAPES) {
+			run(new Benchmark("tour " + name(shape)), () -> new Tour(shape[0], shape[1]), t -> {
+				t.tour(0, 0);
+				return t;
+			});
+		}
+
+		for (int[] shape : STRUCTURED_SHAPES) {
+			run(new Benchmark("structuredTour " + name(shape)), () -> new Tour(shape[0], shape[1]), t -> {
+				t.structuredTour(0, 0);
+				return t;
+			});
+		}
+
+		for (int[] shape : ODD_SHAPES) {
+			run(new Benchmark("oddTour " + name(shape)), () -> new Tour(shape[0], shape[1]), t -> {
+				t.oddTour(shape[0] - 1, shape[1] - 1);
+				return t;
+			});
+		}
+
+		// a base case searched with and without the bitboard search, past the cache and pack
+		for (int[] shape : BASE_CASE_SHAPES) {
+			for (boolean bitboard : new boolean[] { true, false }) {
+				SolverOptions options = new SolverOptions();
+				options.setBitboard(bitboard);
+				options.setTilePack(false);
+				run(new Benchmark("base case " + (bitboard ? "bitboard " : "general ") + name(shape)), () -> {
+					TourCache.shared().clear();
+					return new Tour(shape[0], shape[1]);
+				}, t -> {
+					t.start(options);
+					return t;
+				});
+			}
+		}
+
+		// a single pass of Warnsdorff's rule with each tie-breaker
+		TieBreaker[] tieBreakers = { TieBreaker.NONE, TieBreaker.POHL, TieBreaker.CENTRE };
+		String[] tieBreakerNames = { "none", "Pohl", "centre" };
+		for (int[] shape : HEURISTIC_SHAPES) {
+			for (int i = 0; i < tieBreakers.length; i++) {
+				SolverOptions options = new SolverOptions();
+				options.setDivide(false);
+				options.setBacktracking(false);
+				options.setTieBreaker(tieBreakers[i]);
+				run(new Benchmark("heuristic " + tieBreakerNames[i] + " " + name(shape)).warmup(3).samples(10),
+						() -> new Tour(shape[0], shape[1]), t -> {
+							t.start(options);
+							return t;
+						});
+			}
+		}
+
+		// one operation asks for the moves from every square of an empty board
+		int[] moves = new int[8];
+		for (int[] shape : MOVE_SHAPES) {
+			run(new Benchmark("warnsdorffMoves " + name(shape)).batch(100), () -> new Tour(shape[0], shape[1]), t -> {
+				int count = 0;
+				for (int rank = 0; rank < shape[0]; rank++) {
+					for (int file = 0; file < shape[1]; file++) {
+						count += t.warnsdorffMoves(t.square(rank, file), moves, 0);
+					}
+				}
+				return count;
+			});
+		}
+
+		for (int[] shape : JOIN_SHAPES) {
+			int[][] sizes = Tour.split(shape[0], shape[1]);
+			Tour[] k = new Tour[sizes.length];
+			for (int i = 0; i < k.length; i++) {
+				k[i] = new Tour(sizes[i][0], sizes[i][1]).DNCTour();
+			}
+			if (!solves(Tour.joinTours(k[0], k[1], k[2], k[3]), "joinTours")) {
+				continue;
+			}
+			run(new Benchmark("joinTours " + name(shape)).batch(100), () -> k,
+					q -> Tour.joinTours(q[0], q[1], q[2], q[3]));
+			run(new Benchmark("joinTours and read " + name(shape)), () -> k, q -> {
+				Tour joined = Tour.joinTours(q[0], q[1], q[2], q[3]);
+				return joined.getPath().rank(0);
+			});
+		}
+
+		TourCounter counter = new TourCounter();
+		for (int[] shape : OPEN_COUNT_SHAPES) {
+			run(new Benchmark("count open " + name(shape)).warmup(1).samples(5), () -> counter,
+					c -> c.count(shape[0], shape[1], false));
+		}
+		for (int[] shape : CLOSED_COUNT_SHAPES) {
+			run(new Benchmark("count closed " + name(shape)).warmup(1).samples(5), () -> counter,
+					c -> c.count(shape[0], shape[1], true));
+		}
+	}
+
+	/**
+	 * runs a benchmark if its name passes the filter and prints its results
+	 *
+	 * @since 10/17/2026
+	 */
+	private static <T> void run(Benchmark benchmark, Supplier<T> setup, Function<T, ?> operation) {
+		if (benchmark.getName().contains(filter)) {
+			System.out.println(benchmark.run(setup, operation));
+		}
+	}
+
+	/**
+	 * checks that a shape of board is solved before it is timed, so a benchmark never
+	 * reports how long a failed solve took
+	 *
+	 * @param tour the board solved once the way the benchmark solves it
+	 * @param name the benchmark the shape would be run with
+	 * @return true if the tour covers the whole board, otherwise the shape is reported
+	 *         as skipped
+	 * @since 10/17/2026
+	 */
+	private static boolean solves(Tour tour, String name) {
+		String problem = new TourValidator().problem(tour.getPath(), false);
+		if (tour.isSolved() && problem == null) {
+			return true;
+		}
+		if (name.contains(filter)) {
+			System.out.println("skipped " + name + " " + tour.getRanks() + " x " + tour.getFiles() + ": "
+					+ (problem == null ? "not solved" : problem));
+		}
+		return false;
+	}
+
+	/**
+	 * @param shape the ranks and files of a board
+	 * @return the shape written as ranks x files
+	 * @since 10/17/2026
+	 */
+	private static String name(int[] shape) {
+		return shape[0] + " x " + shape[1];
+	}
+}
@@ -0,0 +1,306 @@
+package algorithms;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * a small timing harness. Each benchmark is run for a number of untimed warm-up samples
+ * so the JIT has compiled it, then for a number of measured samples. Every sample gets
+ * fresh state from a setup step that is not timed and runs the operation a batch of
+ * times on it, so operations too quick for System.nanoTime() can still be measured.
+ *
+ * Alongside the time per operation a Result reports percentiles over the samples, the
+ * number and duration of garbage collections during measurement and, where the JVM
+ * supports it, the bytes allocated per operation.
+ *
+ * @since 10/17/2026
+ */
+public class Benchmark {
+	// default number of samples
+	public static final int DEFAULT_WARMUP = 10;
+	public static final int DEFAULT_SAMPLES = 30;
+
+	// results are stored here so the JIT cannot discard the work that produced them
+	private static volatile Object sink;
+
+	private final String name;
+	private int warmup;
+	private int samples;
+	private int batch;
+
+	// bytes allocated by the timed part of the samples so far, or -1 if unknown
+	private long allocated;
+
+	/**
+	 * creates a benchmark with the default number of samples and a batch of one
+	 *
+	 * @param name the name to report the benchmark under
+	 * @since 10/17/2026
+	 */
+	public Benchmark(String name) {
+		this.name = name;
+		warmup = DEFAULT_WARMUP;
+		samples = DEFAULT_SAMPLES;
+		batch = 1;
+	}
+
+	/**
+	 * simple getter
+	 *
+	 * @return the name the benchmark is reported under
+	 * @since 10/17/2026
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * simple setter
+	 *
+	 * @param warmup the number of untimed samples run first
+	 * @return this benchmark
+	 * @since 10/17/2026
+	 */
+	public Benchmark warmup(int warmup) {
+		this.warmup = warmup;
+		return this;
+	}
+
+	/**
+	 * simple setter
+	 *
+	 * @param samples the number of timed samples, at least 1
+	 * @return this benchmark
+	 * @since 10/17/2026
+	 */
+	public Benchmark samples(int samples) {
+		this.samples = samples;
+		return this;
+	}
+
+	/**
+	 * simple setter
+	 *
+	 * @param batch the number of times the operation runs on the state of each sample,
+	 *              it must leave the state fit to run again
+	 * @return this benchmark
+	 * @since 10/17/2026
+	 */
+	public Benchmark batch(int batch) {
+		this.batch = batch;
+		return this;
+	}
+
+	/**
+	 * runs the benchmark
+	 *
+	 * @param <T> the type of state the operation works on
+	 * @param setup creates fresh state for every sample, not timed
+	 * @param operation the work to time, its result is kept from the JIT
+	 * @return the measurements
+	 * @since 10/17/2026
+	 */
+	public <T> Result run(Supplier<T> setup, Function<T, ?> operation) {
+		for (int i = 0; i < warmup; i++) {
+			sample(setup, operation);
+		}
+
+		long gcCount = -gcCount();
+		long gcTime = -gcTime();
+		allocated = allocatedBytes() < 0 ? -1 : 0;
+		long[] times = new long[samples];
+		for (int i = 0; i < samples; i++) {
+			times[i] = sample(setup, operation);
+		}
+		gcCount += gcCount();
+		gcTime += gcTime();
+
+		long perOperation = allocated < 0 ? -1 : allocated / ((long) samples * batch);
+		return new Result(name, times, batch, gcCount, gcTime, perOperation);
+	}
+
+	/**
+	 * @return the time taken by one sample in nanoseconds
+	 * @since 10/17/2026
+	 */
+	private <T> long sample(Supplier<T> setup, Function<T, ?> operation) {
+		T state = setup.get();
+		long bytes = allocatedBytes();
+		long time = System.nanoTime();
+		for (int i = 0; i < batch; i++) {
+			sink = operation.apply(state);
+		}
+		time = System.nanoTime() - time;
+		if (allocated >= 0) {
+			allocated += allocatedBytes() - bytes;
+		}
+		return time;
+	}
+
+	/**
+	 * @return the number of collections run by every garbage collector so far
+	 * @since 10/17/2026
+	 */
+	private static long gcCount() {
+		long count = 0;
+		for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+			count += Math.max(gc.getCollectionCount(), 0);
+		}
+		return count;
+	}
+
+	/**
+	 * @return the milliseconds spent by every garbage collector so far
+	 * @since 10/17/2026
+	 */
+	private static long gcTime() {
+		long time = 0;
+		for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+			time += Math.max(gc.getCollectionTime(), 0);
+		}
+		return time;
+	}
+
+	/**
+	 * @return the bytes allocated by the current thread so far, or a negative number if
+	 *         the JVM does not track them
+	 * @since 10/17/2026
+	 */
+	private static long allocatedBytes() {
+		ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		if (threads instanceof com.sun.management.ThreadMXBean) {
+			com.sun.management.ThreadMXBean hotspot = (com.sun.management.ThreadMXBean) threads;
+			if (hotspot.isThreadAllocatedMemorySupported() && hotspot.isThreadAllocatedMemoryEnabled()) {
+				return hotspot.getThreadAllocatedBytes(Thread.currentThread().getId());
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * the measurements of one benchmark. Times are per operation, in nanoseconds.
+	 *
+	 * @since 10/17/2026
+	 */
+	public static class Result {
+		private final String name;
+		private final long[] times;
+		private final long gcCount;
+		private final long gcTime;
+		private final long allocated;
+
+		/**
+		 * @param name the name of the benchmark
+		 * @param times the time of each sample in nanoseconds
+		 * @param batch the number of operations in each sample
+		 * @param gcCount the number of garbage collections during measurement
+		 * @param gcTime the milliseconds spent collecting garbage during measurement
+		 * @param allocated the bytes allocated per operation, or -1 if unknown
+		 * @since 10/17/2026
+		 */
+		Result(String name, long[] times, int batch, long gcCount, long gcTime, long allocated) {
+			this.name = name;
+			this.times = new long[times.length];
+			for (int i = 0; i < times.length; i++) {
+				this.times[i] = times[i] / batch;
+			}
+			Arrays.sort(this.times);
+			this.gcCount = gcCount;
+			this.gcTime = gcTime;
+			this.allocated = allocated;
+		}
+
+		/**
+		 * simple getter
+		 *
+		 * @return the name of the benchmark
+		 * @since 10/17/2026
+		 */
+		public String getName() {
+			return name;
+		}
+
+		/**
+		 * @return the mean time per operation in nanoseconds
+		 * @since 10/17/2026
+		 */
+		public double average() {
+			double total = 0;
+			for (long time : times) {
+				total += time;
+			}
+			return total / times.length;
+		}
+
+		/**
+		 * @return the standard deviation of the time per operation in nanoseconds
+		 * @since 10/17/2026
+		 */
+		public double deviation() {
+			double average = average();
+			double total = 0;
+			for (long time : times) {
+				total += (time - average) * (time - average);
+			}
+			return Math.sqrt(total / times.length);
+		}
+
+		/**
+		 * @param percentile a percentile from 0 to 100
+		 * @return the time per operation in nanoseconds that that percentage of samples
+		 *         did not exceed
+		 * @since 10/17/2026
+		 */
+		public long percentile(double percentile) {
+			int index = (int) Math.ceil(percentile / 100 * times.length) - 1;
+			return times[Math.max(0, Math.min(times.length - 1, index))];
+		}
+
+		/**
+		 * simple getter
+		 *
+		 * @return the number of garbage collections during measurement
+		 * @since 10/17/2026
+		 */
+		public long getGcCount() {
+			return gcCount;
+		}
+
+		/**
+		 * simple getter
+		 *
+		 * @return the milliseconds spent collecting garbage during measurement
+		 * @since 10/17/2026
+		 */
+		public long getGcTime() {
+			return gcTime;
+		}
+
+		/**
+		 * simple getter
+		 *
+		 * @return the bytes allocated per operation, or -1 if the JVM does not track them
+		 * @since 10/17/2026
+		 */
+		public long getAllocated() {
+			return allocated;
+		}
+
+		/**
+		 * @return one line with the average, deviation, percentiles and gc figures, times
+		 *         in microseconds
+		 * @since 10/17/2026
+		 */
+		@Override
+		public String toString() {
+			return String.format("%-36s avg %12.3f us  sd %10.3f  p50 %12.3f  p90 %12.3f  p99 %12.3f"
+					+ "  max %12.3f  gc %d (%d ms)  alloc %d B/op", name, average() / 1e3, deviation() / 1e3,
+					percentile(50) / 1e3, percentile(90) / 1e3, percentile(99) / 1e3, times[times.length - 1] / 1e3,
+					gcCount, gcTime, allocated);
+		}
+	}
+}
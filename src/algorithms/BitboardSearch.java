@@ -0,0 +1,309 @@
+package algorithms;
+
+import java.util.Arrays;
+
+/**
+ * the search of Tour for boards of at most 64 squares, most of the base cases of
+ * DNCTour(). The visited squares are the bits of a single long, numbered rank by rank
+ * from the top left corner, the moves from every square are a mask of the squares they
+ * reach, and the number of onward moves from a square is the bit count of its mask
+ * with the visited squares taken out.
+ *
+ * The moves are tried in the same order as the search of Tour, with the same pruning
+ * rules for each Variant, so both find the same tour and count the same stats. The
+ * masks of every shape are built once and shared, and every thread keeps one set of
+ * buffers for all its searches, so a search allocates nothing and its whole state fits
+ * in a few kilobytes.
+ *
+ * @since 10/17/2026
+ */
+final class BitboardSearch {
+	// largest number of squares a board can have to be searched here
+	static final int MAX_SQUARES = Long.SIZE;
+
+	// moves from every square of every shape searched so far, by (ranks - 1) * 64 + files - 1
+	private static final Shape[] SHAPES = new Shape[MAX_SQUARES * MAX_SQUARES];
+
+	// buffers of the search on each thread
+	private static final ThreadLocal<BitboardSearch> SEARCHES = ThreadLocal.withInitial(BitboardSearch::new);
+
+	// one block of 8 moves per step, ordered by onward moves, and those counts
+	private final byte[] moves;
+	private final byte[] branches;
+
+	// index in moves of the next move to try and of the end of the block of every step
+	private final int[] next;
+	private final int[] end;
+
+	// the square of every step, and the step of every visited square
+	private final byte[] path;
+	private final byte[] steps;
+	private int length;
+
+	/**
+	 * allocates the buffers of one thread
+	 *
+	 * @since 10/17/2026
+	 */
+	private BitboardSearch() {
+		moves = new byte[MAX_SQUARES * Tour.RANK_OFFSETS.length];
+		branches = new byte[moves.length];
+		next = new int[MAX_SQUARES];
+		end = new int[MAX_SQUARES];
+		path = new byte[MAX_SQUARES];
+		steps = new byte[MAX_SQUARES];
+	}
+
+	/**
+	 * @return the search of the calling thread
+	 * @since 10/17/2026
+	 */
+	static BitboardSearch get() {
+		return SEARCHES.get();
+	}
+
+	/**
+	 * @param ranks the number of ranks on a board
+	 * @param files the number of files on a board
+	 * @return true if the board can be searched here. Boards narrower than three squares
+	 *         have no room for the corner formations, and are left to Tour.
+	 * @since 10/17/2026
+	 */
+	static boolean fits(int ranks, int files) {
+		return ranks >= 3 && files >= 3 && ranks * files <= MAX_SQUARES;
+	}
+
+	/**
+	 * simple getter
+	 *
+	 * @return the number of squares of the tour found by the last search
+	 * @since 10/17/2026
+	 */
+	int length() {
+		return length;
+	}
+
+	/**
+	 * @param step a step of the tour found by the last search, from 0
+	 * @return the square of that step, numbered rank by rank from the top left corner
+	 * @since 10/17/2026
+	 */
+	int squareAt(int step) {
+		return path[step];
+	}
+
+	/**
+	 * searches for a tour the way Tour.search() does
+	 *
+	 * @param ranks the number of ranks on the board
+	 * @param files the number of files on the board
+	 * @param start the square the knight starts on, numbered rank by rank
+	 * @param variant the pruning and completion rules of the tour being searched for
+	 * @param backtracking false to give up as soon as the knight is stuck
+	 * @param stats the counts to add the work of the search to
+	 * @return true if a tour was found, see length() and squareAt()
+	 * @since 10/17/2026
+	 */
+	boolean search(int ranks, int files, int start, Tour.Variant variant, boolean backtracking, TourStats stats) {
+		Shape shape = shape(ranks, files);
+		int squares = ranks * files;
+		int target = variant == Tour.Variant.ODD ? squares - 1 : squares;
+
+		// the two squares next to the corner that closes the tour have to be its second
+		// and last, and an odd tour leaves the top left corner blank
+		int first = -1;
+		int second = -1;
+		int blank = -1;
+		if (variant == Tour.Variant.STRUCTURED) {
+			first = files + 2;
+			second = 2 * files + 1;
+		} else if (variant == Tour.Variant.ODD) {
+			first = (ranks - 2) * files + files - 3;
+			second = (ranks - 3) * files + files - 2;
+			blank = 0;
+		}
+
+		Arrays.fill(steps, (byte) 0);
+		length = 0;
+		long visited = 1L << start;
+		steps[start] = 1;
+		if (prunes(shape, variant, start, first, second, blank, target, stats)) {
+			return false;
+		}
+		stats.nodes++;
+		int depth = 0;
+		path[0] = (byte) start;
+		order(shape, start, 0, visited);
+
+		while (depth + 1 < target) {
+			// every move from this square failed, so back out of it
+			if (next[depth] == end[depth]) {
+				if (!backtracking) {
+					return false;
+				}
+				visited &= ~(1L << path[depth]);
+				steps[path[depth]] = 0;
+				stats.backtracks++;
+				if (depth == 0) {
+					return false;
+				}
+				depth--;
+				continue;
+			}
+
+			// try the next branch from the current square
+			int move = moves[next[depth]++];
+			visited |= 1L << move;
+			steps[move] = (byte) (depth + 2);
+			if (prunes(shape, variant, move, first, second, blank, target, stats)) {
+				visited &= ~(1L << move);
+				steps[move] = 0;
+				continue;
+			}
+			stats.nodes++;
+			depth++;
+			path[depth] = (byte) move;
+			order(shape, move, depth, visited);
+		}
+		length = depth + 1;
+		return true;
+	}
+
+	/**
+	 * the rules of Tour.Variant.prunes() for the square the knight just moved to
+	 *
+	 * @return true if no tour can follow from the current partial tour
+	 * @since 10/17/2026
+	 */
+	private boolean prunes(Shape shape, Tour.Variant variant, int square, int first, int second, int blank,
+			int target, TourStats stats) {
+		if (variant == Tour.Variant.OPEN) {
+			return false;
+		}
+		if (square == blank) {
+			stats.blankCornerPrunes++;
+			return true;
+		}
+		if (square == first || square == second) {
+			int step = steps[square];
+			if (!(step == 2 || step == target)) {
+				stats.closurePrunes++;
+				return true;
+			}
+		}
+
+		// make sure every corner keeps its structured formation
+		int[] pairs = shape.cornerPairs;
+		for (int i = 0; i < pairs.length; i += 2) {
+			int one = steps[pairs[i]];
+			int other = steps[pairs[i + 1]];
+			if (one != 0 && other != 0 && Math.abs(one - other) != 1) {
+				stats.cornerPrunes[i / 2]++;
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * orders the unvisited squares a knight can move to from a square by their number of
+	 * onward moves, keeping the order of Tour.findMoves() between equals, into the block
+	 * of moves of a step
+	 *
+	 * @since 10/17/2026
+	 */
+	private void order(Shape shape, int square, int depth, long visited) {
+		int start = depth * Tour.RANK_OFFSETS.length;
+		int count = 0;
+		long open = shape.reach[square] & ~visited;
+		for (int i = shape.firsts[square]; i < shape.firsts[square + 1]; i++) {
+			int to = shape.targets[i];
+			if ((open & 1L << to) == 0) {
+				continue;
+			}
+
+			// insertion sort on the onward moves of each destination
+			int onward = Long.bitCount(shape.reach[to] & ~visited);
+			int j = start + count;
+			while (j > start && branches[j - 1] > onward) {
+				moves[j] = moves[j - 1];
+				branches[j] = branches[j - 1];
+				j--;
+			}
+			moves[j] = (byte) to;
+			branches[j] = (byte) onward;
+			count++;
+		}
+		next[depth] = start;
+		end[depth] = start + count;
+	}
+
+	/**
+	 * @return the moves of a shape, built the first time it is asked for
+	 * @since 10/17/2026
+	 */
+	private static Shape shape(int ranks, int files) {
+		int index = (ranks - 1) * MAX_SQUARES + files - 1;
+		Shape shape = SHAPES[index];
+		if (shape == null) {
+			// two threads may both build a shape, which only wastes the work of one
+			shape = new Shape(ranks, files);
+			SHAPES[index] = shape;
+		}
+		return shape;
+	}
+
+	/**
+	 * the moves from every square of a shape of board. Its fields are final and never
+	 * change, so it can be shared between threads without locking.
+	 *
+	 * @since 10/17/2026
+	 */
+	private static final class Shape {
+		// squares reachable from every square, as a mask and in the order of findMoves()
+		final long[] reach;
+		final byte[] targets;
+		final int[] firsts;
+
+		// the corner pairs of Tour, numbered rank by rank
+		final int[] cornerPairs;
+
+		/**
+		 * @param ranks the number of ranks on the board
+		 * @param files the number of files on the board
+		 * @since 10/17/2026
+		 */
+		Shape(int ranks, int files) {
+			int squares = ranks * files;
+			reach = new long[squares];
+			firsts = new int[squares + 1];
+			byte[] found = new byte[squares * Tour.RANK_OFFSETS.length];
+			int count = 0;
+			for (int square = 0; square < squares; square++) {
+				firsts[square] = count;
+				for (int i = 0; i < Tour.RANK_OFFSETS.length; i++) {
+					int rank = square / files + Tour.RANK_OFFSETS[i];
+					int file = square % files + Tour.FILE_OFFSETS[i];
+					if (rank >= 0 && rank < ranks && file >= 0 && file < files) {
+						reach[square] |= 1L << (rank * files + file);
+						found[count++] = (byte) (rank * files + file);
+					}
+				}
+			}
+			firsts[squares] = count;
+			targets = Arrays.copyOf(found, count);
+
+			int m = ranks;
+			int n = files;
+			cornerPairs = new int[] {
+					0 * n + 1, 2 * n + 0,
+					0 * n + 2, 1 * n + 0,
+					0 * n + n - 2, 2 * n + n - 1,
+					0 * n + n - 3, 1 * n + n - 1,
+					(m - 3) * n + 0, (m - 1) * n + 1,
+					(m - 2) * n + 0, (m - 1) * n + 2,
+					(m - 3) * n + n - 1, (m - 1) * n + n - 2,
+					(m - 2) * n + n - 1, (m - 1) * n + n - 3 };
+		}
+	}
+}
@@ -0,0 +1,103 @@
+package algorithms;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * the step number of every square of a board, kept outside of Tour so that boards too
+ * large for an int array on the heap can still be numbered. See HeapBoardStore and
+ * MappedBoardStore.
+ *
+ * Step numbers start at 1, a square that was never visited holds 0.
+ *
+ * @since 10/17/2026
+ */
+public interface BoardStore extends Closeable {
+	/**
+	 * @return the number of ranks on the board
+	 * @since 10/17/2026
+	 */
+	int getRanks();
+
+	/**
+	 * @return the number of files on the board
+	 * @since 10/17/2026
+	 */
+	int getFiles();
+
+	/**
+	 * @param rank the rank of the square
+	 * @param file the file of the square
+	 * @return the step on which the square is visited, or 0 if it is not visited
+	 * @since 10/17/2026
+	 */
+	long get(int rank, int file);
+
+	/**
+	 * @param rank the rank of the square
+	 * @param file the file of the square
+	 * @param step the step on which the square is visited, or 0 if it is not visited
+	 * @since 10/17/2026
+	 */
+	void set(int rank, int file, long step);
+
+	/**
+	 * @return the number of squares on the board
+	 * @since 10/17/2026
+	 */
+	default long squares() {
+		return (long) getRanks() * getFiles();
+	}
+
+	/**
+	 * numbers the squares of the board in the order a path visits them. Composed paths
+	 * are read without being copied, see TourPath.read().
+	 *
+	 * @param path the path of a tour on a board of the same size
+	 * @throws IllegalArgumentException if the path belongs to a board of another size
+	 * @since 10/17/2026
+	 */
+	default void fill(TourPath path) {
+		if (path.getRanks() != getRanks() || path.getFiles() != getFiles()) {
+			throw new IllegalArgumentException("path is for a " + path.getRanks() + " x " + path.getFiles()
+					+ " board, not " + getRanks() + " x " + getFiles());
+		}
+		path.read(0, path.size(), new SquareSink() {
+			private long step = 1;
+
+			@Override
+			public void accept(int rank, int file) {
+				set(rank, file, step++);
+			}
+		});
+	}
+
+	/**
+	 * releases whatever holds the step numbers. Stores on the heap have nothing to
+	 * release.
+	 *
+	 * @throws IOException if the store cannot be written out
+	 * @since 10/17/2026
+	 */
+	@Override
+	default void close() throws IOException {
+	}
+
+	/**
+	 * picks the narrowest unsigned width that can hold every step number of a board
+	 *
+	 * @param squares the number of squares on the board
+	 * @return the number of bytes needed per square: 1, 2, 4 or 8
+	 * @since 10/17/2026
+	 */
+	static int widthFor(long squares) {
+		if (squares <= 0xFFL) {
+			return Byte.BYTES;
+		} else if (squares <= 0xFFFFL) {
+			return Short.BYTES;
+		} else if (squares <= 0xFFFFFFFFL) {
+			return Integer.BYTES;
+		}
+		return Long.BYTES;
+	}
+}
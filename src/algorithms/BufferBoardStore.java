@@ -0,0 +1,158 @@
+package algorithms;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+/**
+ * a board store kept in ByteBuffers. The squares are laid out rank by rank, each as an
+ * unsigned big endian number of BoardStore.widthFor() bytes, and split over as many
+ * buffers of at most 1 GB as the board needs, so the number of squares is not limited by
+ * the largest array or buffer Java can index.
+ *
+ * @since 10/17/2026
+ */
+abstract class BufferBoardStore implements BoardStore {
+	// each buffer holds 1 << CHUNK_SHIFT bytes, a multiple of every width
+	static final int CHUNK_SHIFT = 30;
+	private static final long CHUNK_MASK = (1L << CHUNK_SHIFT) - 1;
+
+	// size members
+	private final int ranks;
+	private final int files;
+	private final int width;
+
+	// the step numbers
+	private final ByteBuffer[] chunks;
+
+	/**
+	 * sizes the store, subclasses then supply each buffer with setChunk()
+	 *
+	 * @param ranks the number of ranks on the board
+	 * @param files the number of files on the board
+	 * @since 10/17/2026
+	 */
+	protected BufferBoardStore(int ranks, int files) {
+		if (ranks < 0 || files < 0) {
+			throw new IllegalArgumentException("board cannot be " + ranks + " x " + files);
+		}
+		this.ranks = ranks;
+		this.files = files;
+		width = BoardStore.widthFor(squares());
+		chunks = new ByteBuffer[(int) ((bytes() + CHUNK_MASK) >>> CHUNK_SHIFT)];
+	}
+
+	@Override
+	public int getRanks() {
+		return ranks;
+	}
+
+	@Override
+	public int getFiles() {
+		return files;
+	}
+
+	/**
+	 * simple getter
+	 *
+	 * @return the number of bytes each square takes up
+	 * @since 10/17/2026
+	 */
+	public int getWidth() {
+		return width;
+	}
+
+	/**
+	 * @return the number of bytes the whole board takes up
+	 * @since 10/17/2026
+	 */
+	public long bytes() {
+		return squares() * width;
+	}
+
+	@Override
+	public long get(int rank, int file) {
+		long offset = offset(rank, file);
+		ByteBuffer chunk = chunks[(int) (offset >>> CHUNK_SHIFT)];
+		int at = (int) (offset & CHUNK_MASK);
+		switch (width) {
+		case Byte.BYTES:
+			return chunk.get(at) & 0xFFL;
+		case Short.BYTES:
+			return chunk.getShort(at) & 0xFFFFL;
+		case Integer.BYTES:
+			return chunk.getInt(at) & 0xFFFFFFFFL;
+		default:
+			return chunk.getLong(at);
+		}
+	}
+
+	@Override
+	public void set(int rank, int file, long step) {
+		if (step < 0 || step > squares()) {
+			throw new IllegalArgumentException("step " + step + " is not on a board of " + squares() + " squares");
+		}
+		long offset = offset(rank, file);
+		ByteBuffer chunk = chunks[(int) (offset >>> CHUNK_SHIFT)];
+		int at = (int) (offset & CHUNK_MASK);
+		switch (width) {
+		case Byte.BYTES:
+			chunk.put(at, (byte) step);
+			break;
+		case Short.BYTES:
+			chunk.putShort(at, (short) step);
+			break;
+		case Integer.BYTES:
+			chunk.putInt(at, (int) step);
+			break;
+		default:
+			chunk.putLong(at, step);
+		}
+	}
+
+	/**
+	 * @return the number of buffers the store is split into
+	 * @since 10/17/2026
+	 */
+	protected int chunkCount() {
+		return chunks.length;
+	}
+
+	/**
+	 * @param chunk the index of a buffer
+	 * @return the number of bytes that buffer has to hold
+	 * @since 10/17/2026
+	 */
+	protected int chunkSize(int chunk) {
+		return (int) Math.min(1L << CHUNK_SHIFT, bytes() - ((long) chunk << CHUNK_SHIFT));
+	}
+
+	/**
+	 * @param chunk the index of a buffer
+	 * @return the buffer
+	 * @since 10/17/2026
+	 */
+	protected ByteBuffer getChunk(int chunk) {
+		return chunks[chunk];
+	}
+
+	/**
+	 * @param chunk the index of a buffer
+	 * @param buffer a buffer of chunkSize(chunk) bytes
+	 * @since 10/17/2026
+	 */
+	protected void setChunk(int chunk, ByteBuffer buffer) {
+		chunks[chunk] = buffer;
+	}
+
+	/**
+	 * @param rank the rank of a square
+	 * @param file the file of a square
+	 * @return the position of the square's step number in the store
+	 * @since 10/17/2026
+	 */
+	private long offset(int rank, int file) {
+		Objects.checkIndex(rank, ranks);
+		Objects.checkIndex(file, files);
+		return ((long) rank * files + file) * width;
+	}
+}
@@ -0,0 +1,38 @@
+package algorithms;
+
+import java.nio.ByteBuffer;
+
+/**
+ * a board store held in memory, either on the heap or in direct buffers outside of it.
+ * Each square takes only as many bytes as its largest step number needs.
+ *
+ * @since 10/17/2026
+ */
+public class HeapBoardStore extends BufferBoardStore {
+	/**
+	 * creates an empty store on the heap
+	 *
+	 * @param ranks the number of ranks on the board
+	 * @param files the number of files on the board
+	 * @since 10/17/2026
+	 */
+	public HeapBoardStore(int ranks, int files) {
+		this(ranks, files, false);
+	}
+
+	/**
+	 * creates an empty store
+	 *
+	 * @param ranks the number of ranks on the board
+	 * @param files the number of files on the board
+	 * @param direct true to keep the store in direct buffers, which the garbage collector
+	 *               never has to scan or move
+	 * @since 10/17/2026
+	 */
+	public HeapBoardStore(int ranks, int files, boolean direct) {
+		super(ranks, files);
+		for (int i = 0; i < chunkCount(); i++) {
+			setChunk(i, direct ? ByteBuffer.allocateDirect(chunkSize(i)) : ByteBuffer.allocate(chunkSize(i)));
+		}
+	}
+}
@@ -7,42 +7,87 @@ import java.util.NoSuchElementException;
 
 public class Main {
 	public static void main(String[] args) throws FileNotFoundException {
+		// boards joined from quarters that are not all closed tours, and one that is
+		checkStart(25, 26);
+		checkStart(32, 32);
+
 		File f = new File("fastOutput.txt");
 		PrintWriter writer = new PrintWriter(f);
 
+		// every sample starts from a cold cache without the tile pack, so every shape of
+		// base case is searched once, and sizes divide and conquer fails on are skipped
+		SolverOptions cold = new SolverOptions();
+		cold.setTilePack(false);
 		for (int i = 16; i <= 256; i+=16) {
-			int total = 0;
-			for(int j = 0; j < 5; j++) {
-				Tour t = new Tour(i);
+			int size = i;
+			TourCache.shared().clear();
+			Tour check = new Tour(size);
+			try {
+				check.start(cold);
+			} catch (NoSuchElementException | IllegalArgumentException e) {
+				System.out.println(i + " x " + i + " board: " + e.getMessage() + ", skipped");
+				writer.println(i + " x " + i + " board: " + e.getMessage() + ", skipped");
+				continue;
+			}
+			if (!check.isSolved()) {
+				System.out.println(i + " x " + i + " board: no tour found, skipped");
+				writer.println(i + " x " + i + " board: no tour found, skipped");
+				continue;
+			}
+			Benchmark.Result result = new Benchmark(i + " x " + i + " board, cold cache, no tile pack").run(() -> {
+				TourCache.shared().clear();
+				return new Tour(size);
+			}, t -> {
 				try {
-					t.start(true);
+					t.start(cold);
 				} catch (NoSuchElementException nsee) {
 					System.out.println("uh oh you found an edge case!");
 				}
-				total += t.runtime();
-				System.out.println(i + " x " + i + " board number " + (j + 1) + " complete");
-			}
-			int avg = total / 5;
-			writer.println("average run time for " + i + " x " + i + " board: " + avg);
+				return t;
+			});
+			System.out.println(result);
+			writer.println(result);
 			writer.flush();
 		}
 		writer.close();
-		
+
 		File f2 = new File("slowOutput.txt");
 		PrintWriter writer2 = new PrintWriter(f2);
-		
+
 		for(int i = 5; i < 12; i++) {
-			int total = 0;
-			for(int j = 0; j < 5; j++) {
-				Tour t = new Tour(i);
+			int size = i;
+			Benchmark.Result result = new Benchmark(i + " x " + i + " board").run(() -> new Tour(size), t -> {
 				t.start(false);
-				total += t.runtime();
-				System.out.println(i + " x " + i + " board number " + (j + 1) + " complete");
-			}
-			int avg = total / 5;
-			writer2.println("average run time for " + i + " x " + i + " board: " + avg);
+				return t;
+			});
+			System.out.println(result);
+			writer2.println(result);
 			writer2.flush();
 		}
 		writer2.close();
 	}
+
+	/**
+	 * checks that a board solved from a square other than the first is a knight's tour
+	 * beginning on that square, or is reported unsolved with an empty path
+	 *
+	 * @param ranks the number of ranks on the board
+	 * @param files the number of files on the board
+	 * @throws IllegalStateException if the board is reported solved but is not such a tour
+	 * @since 10/17/2026
+	 */
+	private static void checkStart(int ranks, int files) {
+		Tour tour = new Tour(ranks, files);
+		tour.start(ranks / 2, files / 2, new SolverOptions());
+		TourPath path = tour.getPath();
+		String problem = new TourValidator().problem(path, tour.isClosed());
+		if (tour.isSolved() && (problem != null || path.rank(0) != ranks / 2 || path.file(0) != files / 2)) {
+			throw new IllegalStateException(ranks + " x " + files + " is reported solved but "
+					+ (problem != null ? problem : "does not begin on its square"));
+		}
+		if (!tour.isSolved() && !path.isEmpty()) {
+			throw new IllegalStateException(ranks + " x " + files + " is unsolved but has a path");
+		}
+		System.out.println(ranks + " x " + files + " from the centre: " + (tour.isSolved() ? "solved" : "unsolved"));
+	}
 }
@@ -0,0 +1,70 @@
+package algorithms;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * a board store backed by a memory mapped file, so a board can be far larger than the
+ * heap and the operating system pages step numbers in and out as they are used. The file
+ * is laid out as described in BufferBoardStore, and reopening a file of the same board
+ * size reads back the step numbers written to it.
+ *
+ * The mappings stay valid after close() until they are garbage collected, but nothing
+ * written after close() is guaranteed to reach the file.
+ *
+ * @since 10/17/2026
+ */
+public class MappedBoardStore extends BufferBoardStore {
+	private final FileChannel channel;
+
+	/**
+	 * maps a file as the store of a board, creating or growing the file as needed
+	 *
+	 * @param file the file to map
+	 * @param ranks the number of ranks on the board
+	 * @param files the number of files on the board
+	 * @throws IOException if the file cannot be opened or mapped
+	 * @since 10/17/2026
+	 */
+	public MappedBoardStore(Path file, int ranks, int files) throws IOException {
+		super(ranks, files);
+		channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE);
+		try {
+			for (int i = 0; i < chunkCount(); i++) {
+				setChunk(i, channel.map(FileChannel.MapMode.READ_WRITE, (long) i << CHUNK_SHIFT, chunkSize(i)));
+			}
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * writes every changed step number out to the file
+	 *
+	 * @since 10/17/2026
+	 */
+	public void force() {
+		for (int i = 0; i < chunkCount(); i++) {
+			((MappedByteBuffer) getChunk(i)).force();
+		}
+	}
+
+	/**
+	 * writes every changed step number out to the file and closes it
+	 *
+	 * @throws IOException if the file cannot be closed
+	 * @since 10/17/2026
+	 */
+	@Override
+	public void close() throws IOException {
+		if (channel.isOpen()) {
+			force();
+			channel.close();
+		}
+	}
+}
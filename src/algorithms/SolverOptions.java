@@ -0,0 +1,410 @@
+package algorithms;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * settings that control how Tour.start() solves a board. The defaults match
+ * Tour.start(true): a sequential divide and conquer solve.
+ *
+ * @since 10/17/2026
+ */
+public class SolverOptions {
+	// default number of squares below which a parallel solve stops forking
+	public static final int DEFAULT_SEQUENTIAL_CUTOFF = 1024;
+
+	// default number of times a search may restart after running out of nodes
+	public static final int DEFAULT_MAX_RESTARTS = 32;
+
+	// default number of steps between flood fills of the unvisited squares
+	public static final int DEFAULT_FLOOD_FILL_INTERVAL = 4;
+
+	// strategy members
+	private boolean divide;
+	private boolean backtracking;
+	private TieBreaker tieBreaker;
+	private boolean bitboard;
+	private boolean tilePack;
+
+	// pruning members
+	private boolean pruning;
+	private int floodFillInterval;
+
+	// restart members
+	private long nodeBudget;
+	private boolean lubyRestarts;
+	private int maxRestarts;
+	private long seed;
+
+	// parallelism members
+	private boolean parallel;
+	private int sequentialCutoff;
+	private ForkJoinPool pool;
+
+	// output members
+	private BoardStore boardStore;
+
+	/**
+	 * creates the default options
+	 *
+	 * @since 10/17/2026
+	 */
+	public SolverOptions() {
+		divide = true;
+		backtracking = true;
+		tieBreaker = TieBreaker.NONE;
+		bitboard = true;
+		tilePack = true;
+		pruning = false;
+		floodFillInterval = DEFAULT_FLOOD_FILL_INTERVAL;
+		nodeBudget = 0;
+		lubyRestarts = false;
+		maxRestarts = DEFAULT_MAX_RESTARTS;
+		seed = new SplittableRandom().nextLong();
+		parallel = false;
+		sequentialCutoff = DEFAULT_SEQUENTIAL_CUTOFF;
+		pool = null;
+		boardStore = null;
+	}
+
+	/**
+	 * simple getter
+	 *
+	 * @return true if the board is solved with DNCTour(), false if it is solved by
+	 *         backtracking over the whole board
+	 * @since 10/17/2026
+	 */
+	public boolean isDivide() {
+		return divide;
+	}
+
+	/**
+	 * simple setter
+	 *
+	 * @param divide true to solve with DNCTour(), false to backtrack over the whole board
+	 * @since 10/17/2026
+	 */
+	public void setDivide(boolean divide) {
+		this.divide = divide;
+	}
+
+	/**
+	 * simple getter
+	 *
+	 * @return true if the open tour searched without divide and conquer may back out of
+	 *         squares it has moved to
+	 * @since 10/17/2026
+	 */
+	public boolean isBacktracking() {
+		return backtracking;
+	}
+
+	/**
+	 * simple setter
+	 *
+	 * @param backtracking false to solve an open tour without divide and conquer in a
+	 *                     single pass of Warnsdorff's rule, taking the first move at every
+	 *                     step and giving up as soon as the knight is stuck. Check
+	 *                     Tour.isSolved() and fall back to divide and conquer if it
+	 *                     failed. The base cases of divide and conquer always backtrack.
+	 * @since 10/17/2026
+	 */
+	public void setBacktracking(boolean backtracking) {
+		this.backtracking = backtracking;
+	}
+
+	/**
+	 * simple getter
+	 *
+	 * @return how Warnsdorff's rule chooses between equally good moves
+	 * @since 10/17/2026
+	 */
+	public TieBreaker getTieBreaker() {
+		return tieBreaker;
+	}
+
+	/**
+	 * simple setter
+	 *
+	 * @param tieBreaker how Warnsdorff's rule chooses between equally good moves, see
+	 *                   TieBreaker.NONE for the default
+	 * @since 10/17/2026
+	 */
+	public void setTieBreaker(TieBreaker tieBreaker) {
+		this.tieBreaker = tieBreaker;
+	}
+
+	/**
+	 * simple getter
+	 *
+	 * @return true if boards of at most 64 squares are searched with BitboardSearch
+	 * @since 10/17/2026
+	 */
+	public boolean isBitboard() {
+		return bitboard;
+	}
+
+	/**
+	 * simple setter
+	 *
+	 * @param bitboard true to search boards of at most 64 squares with the visited
+	 *                 squares held in the bits of a long. It finds the same tours as the
+	 *                 general search and is only used while pruning, tie-breaking and
+	 *                 node budgets are left off. The base cases of divide and conquer are
+	 *                 restored rather than searched unless this is false, or the TourCache
+	 *                 is cold and isTilePack() is false, see setTilePack().
+	 * @since 10/17/2026
+	 */
+	public void setBitboard(boolean bitboard) {
+		this.bitboard = bitboard;
+	}
+
+	/**
+	 * simple getter
+	 *
+	 * @return true if the base cases of divide and conquer may be restored from the
+	 *         TilePack instead of searched
+	 * @since 10/17/2026
+	 */
+	public boolean isTilePack() {
+		return tilePack;
+	}
+
+	/**
+	 * simple setter
+	 *
+	 * @param tilePack true to restore the base cases of divide and conquer from the
+	 *                 TilePack, false to search every shape that is not in the TourCache
+	 *                 yet. Clear the cache as well to search every shape. The pack and
+	 *                 the cache are both left alone while the bitboard search is off, or
+	 *                 pruning, a tie-breaker or a node budget is on, since the tours kept
+	 *                 there were found without them.
+	 * @since 10/17/2026
+	 */
+	public void setTilePack(boolean tilePack) {
+		this.tilePack = tilePack;
+	}
+
+	/**
+	 * simple getter
+	 *
+	 * @return true if the backtracking search cuts off partial tours that leave a square
+	 *         unreachable
+	 * @since 10/17/2026
+	 */
+	public boolean isPruning() {
+		return pruning;
+	}
+
+	/**
+	 * simple setter
+	 *
+	 * @param pruning true to have the backtracking search watch for squares that can no
+	 *                longer be reached and back out as soon as one appears. Only
+	 *                partial tours that could never be completed are cut off, so the
+	 *                search finds the same tour, sooner.
+	 * @since 10/17/2026
+	 */
+	public void setPruning(boolean pruning) {
+		this.pruning = pruning;
+	}
+
+	/**
+	 * simple getter
+	 *
+	 * @return the number of steps between checks that the unvisited squares are still
+	 *         connected, 0 if they are never checked
+	 * @since 10/17/2026
+	 */
+	public int getFloodFillInterval() {
+		return floodFillInterval;
+	}
+
+	/**
+	 * simple setter
+	 *
+	 * @param floodFillInterval the number of steps between checks that the unvisited
+	 *                          squares are still connected while pruning, or 0 to never
+	 *                          check. Each check costs time in proportion to the
+	 *                          unvisited squares.
+	 * @since 10/17/2026
+	 */
+	public void setFloodFillInterval(int floodFillInterval) {
+		this.floodFillInterval = floodFillInterval;
+	}
+
+	/**
+	 * simple getter
+	 *
+	 * @return the number of squares a backtracking search may move to before it restarts,
+	 *         0 if it never restarts
+	 * @since 10/17/2026
+	 */
+	public long getNodeBudget() {
+		return nodeBudget;
+	}
+
+	/**
+	 * simple setter
+	 *
+	 * @param nodeBudget the number of squares a backtracking search may move to before it
+	 *                   starts again with random tie-breaking, or 0 to search until done.
+	 *                   A budget cuts off the rare searches that wander into a huge
+	 *                   subtree, at the price of repeating a little work.
+	 * @since 10/17/2026
+	 */
+	public void setNodeBudget(long nodeBudget) {
+		this.nodeBudget = nodeBudget;
+	}
+
+	/**
+	 * simple getter
+	 *
+	 * @return true if the node budget grows along the Luby sequence with every restart
+	 * @since 10/17/2026
+	 */
+	public boolean isLubyRestarts() {
+		return lubyRestarts;
+	}
+
+	/**
+	 * simple setter
+	 *
+	 * @param lubyRestarts true to multiply the node budget of each attempt by the next
+	 *                     term of the Luby sequence 1, 1, 2, 1, 1, 2, 4, ..., false to
+	 *                     give every attempt the same budget
+	 * @since 10/17/2026
+	 */
+	public void setLubyRestarts(boolean lubyRestarts) {
+		this.lubyRestarts = lubyRestarts;
+	}
+
+	/**
+	 * simple getter
+	 *
+	 * @return the most times a search restarts
+	 * @since 10/17/2026
+	 */
+	public int getMaxRestarts() {
+		return maxRestarts;
+	}
+
+	/**
+	 * simple setter
+	 *
+	 * @param maxRestarts the most times a search restarts. The last attempt has no
+	 *                    budget, so a search that has a tour always finds it.
+	 * @since 10/17/2026
+	 */
+	public void setMaxRestarts(int maxRestarts) {
+		this.maxRestarts = maxRestarts;
+	}
+
+	/**
+	 * simple getter
+	 *
+	 * @return the seed of the random tie-breaking used after a restart
+	 * @since 10/17/2026
+	 */
+	public long getSeed() {
+		return seed;
+	}
+
+	/**
+	 * simple setter
+	 *
+	 * @param seed the seed of the random tie-breaking used after a restart. A new one is
+	 *             picked for every set of options, and solving the same board again
+	 *             with the same seed finds the same tour. Restarts only happen with a
+	 *             node budget, so divide and conquer then searches its base cases
+	 *             rather than restoring them, see setTilePack().
+	 * @since 10/17/2026
+	 */
+	public void setSeed(long seed) {
+		this.seed = seed;
+	}
+
+	/**
+	 * simple getter
+	 *
+	 * @return true if the quadrants of DNCTour() are solved in parallel
+	 * @since 10/17/2026
+	 */
+	public boolean isParallel() {
+		return parallel;
+	}
+
+	/**
+	 * simple setter
+	 *
+	 * @param parallel true to solve the quadrants of DNCTour() in parallel
+	 * @since 10/17/2026
+	 */
+	public void setParallel(boolean parallel) {
+		this.parallel = parallel;
+	}
+
+	/**
+	 * simple getter
+	 *
+	 * @return the number of squares below which a parallel solve handles a sub-board on
+	 *         the current thread
+	 * @since 10/17/2026
+	 */
+	public int getSequentialCutoff() {
+		return sequentialCutoff;
+	}
+
+	/**
+	 * simple setter
+	 *
+	 * @param sequentialCutoff the number of squares below which a parallel solve handles
+	 *                         a sub-board on the current thread
+	 * @since 10/17/2026
+	 */
+	public void setSequentialCutoff(int sequentialCutoff) {
+		this.sequentialCutoff = sequentialCutoff;
+	}
+
+	/**
+	 * simple getter
+	 *
+	 * @return the pool that runs parallel solves, the common pool unless one was set
+	 * @since 10/17/2026
+	 */
+	public ForkJoinPool getPool() {
+		return pool == null ? ForkJoinPool.commonPool() : pool;
+	}
+
+	/**
+	 * simple setter
+	 *
+	 * @param pool the pool that runs parallel solves, or null for the common pool
+	 * @since 10/17/2026
+	 */
+	public void setPool(ForkJoinPool pool) {
+		this.pool = pool;
+	}
+
+	/**
+	 * simple getter
+	 *
+	 * @return the store that a divide and conquer solve numbers the board in, or null
+	 * @since 10/17/2026
+	 */
+	public BoardStore getBoardStore() {
+		return boardStore;
+	}
+
+	/**
+	 * simple setter
+	 *
+	 * @param boardStore a store that a divide and conquer solve numbers the board in
+	 *                   straight from the joined path, see Tour.writeTo(), or null to
+	 *                   only keep the path
+	 * @since 10/17/2026
+	 */
+	public void setBoardStore(BoardStore boardStore) {
+		this.boardStore = boardStore;
+	}
+}
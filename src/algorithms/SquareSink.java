@@ -0,0 +1,16 @@
+package algorithms;
+
+/**
+ * receives the squares of a tour one at a time, in the order the knight visits them
+ *
+ * @since 10/17/2026
+ */
+@FunctionalInterface
+public interface SquareSink {
+	/**
+	 * @param rank the rank of the next square on the tour
+	 * @param file the file of the next square on the tour
+	 * @since 10/17/2026
+	 */
+	void accept(int rank, int file);
+}
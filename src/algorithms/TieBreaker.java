@@ -0,0 +1,72 @@
+package algorithms;
+
+/**
+ * decides between moves that Warnsdorff's rule cannot tell apart because their
+ * destinations have the same number of onward moves. Tour.warnsdorffMoves() tries the
+ * move with the smaller key first, and moves with equal keys keep the order in which
+ * findMoves() generates them.
+ *
+ * A good tie-breaker lets Warnsdorff's rule finish tours on its own on most boards, see
+ * SolverOptions.setBacktracking().
+ *
+ * @since 10/17/2026
+ */
+@FunctionalInterface
+public interface TieBreaker {
+	/**
+	 * leaves ties in the order the moves are generated
+	 */
+	TieBreaker NONE = (tour, from, to, move) -> 0;
+
+	/**
+	 * Pohl's rule: prefers the destination whose onward moves have the fewest onward
+	 * moves of their own between them
+	 */
+	TieBreaker POHL = (tour, from, to, move) -> tour.secondDegree(to);
+
+	/**
+	 * prefers the destination farthest from the centre of the board, so the knight
+	 * clears the edges before it closes in on the middle
+	 */
+	TieBreaker CENTRE = (tour, from, to, move) -> {
+		int rank = 2 * tour.rankOf(to) - (tour.getRanks() - 1);
+		int file = 2 * tour.fileOf(to) - (tour.getFiles() - 1);
+		return -(rank * rank + file * file);
+	};
+
+	/**
+	 * breaks ties by a fixed preference between the eight knight moves, in the manner of
+	 * the move orders of Squirrel and Cull
+	 *
+	 * @param order every move index from 0 to 7 once, most preferred first. See
+	 *              Tour.findMoves() for the move each index stands for.
+	 * @return the tie-breaker
+	 * @throws IllegalArgumentException if order is not an ordering of the eight moves
+	 * @since 10/17/2026
+	 */
+	static TieBreaker fixedOrder(int... order) {
+		int[] keys = new int[Tour.RANK_OFFSETS.length];
+		int seen = 0;
+		if (order.length != keys.length) {
+			throw new IllegalArgumentException("order has " + order.length + " moves instead of " + keys.length);
+		}
+		for (int i = 0; i < order.length; i++) {
+			if (order[i] < 0 || order[i] >= keys.length || (seen & 1 << order[i]) != 0) {
+				throw new IllegalArgumentException("order does not list every move once");
+			}
+			seen |= 1 << order[i];
+			keys[order[i]] = i;
+		}
+		return (tour, from, to, move) -> keys[move];
+	}
+
+	/**
+	 * @param tour the board being searched
+	 * @param from the square the knight is on
+	 * @param to an unvisited square the knight can move to
+	 * @param move the index of the knight move from from to to, see Tour.findMoves()
+	 * @return the key of the move, moves with smaller keys are tried first
+	 * @since 10/17/2026
+	 */
+	int key(Tour tour, int from, int to, int move);
+}
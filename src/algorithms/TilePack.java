@@ -0,0 +1,259 @@
+package algorithms;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * base case tours solved ahead of time, so DNCTour() can restore them instead of
+ * searching. The pack holds a tour of the wide orientation of every base case shape, and
+ * of the tiles of stripTour() that are not base cases, and hands out the transpose of
+ * the other orientation, see TourCache. Every board that divide and conquer splits down
+ * to those shapes is then solved without any search, in time linear in its area.
+ *
+ * The pack is written by main(), which solves every shape with Tour.solveBoard(), and
+ * ships as the resource "tiles.pack" next to this class. It is read the first time a
+ * base case is solved: memory mapped if the resource is a plain file, or copied into a
+ * direct buffer if it sits in a jar. Without the resource, or with the system property
+ * "algorithms.tilePack" set to false, the pack is empty and the base cases are searched.
+ * They are also searched for a solve whose SolverOptions turn the pack off or ask for
+ * a search other than the default, see SolverOptions.setTilePack().
+ *
+ * The pack is laid out as follows, all numbers big endian:
+ * a header of the magic number, the version (short) and the number of tours (short);
+ * then an entry for every tour of its ranks (byte), files (byte), flags (short, bit 0
+ * set for an odd tour missing the top left corner), and the offset (int) and length
+ * (int) of the tour; then the tours in the compact form of Tour.compactPath().
+ *
+ * @since 10/17/2026
+ */
+public class TilePack {
+	// "KTTP"
+	public static final int MAGIC = 0x4B545450;
+	public static final short VERSION = 1;
+
+	// name of the pack next to this class
+	public static final String RESOURCE = "tiles.pack";
+
+	// shortest and longest sides of the base cases in the pack
+	static final int MIN_SIDE = 5;
+	static final int MAX_SIDE = 9;
+
+	// header members
+	private static final int HEADER_BYTES = 8;
+	private static final int ENTRY_BYTES = 12;
+	private static final short ODD = 1;
+
+	// contents of the pack, or null if it is empty
+	private final ByteBuffer buffer;
+	private final int count;
+
+	/**
+	 * holds the shared pack, so the resource is only read the first time it is needed
+	 *
+	 * @since 10/17/2026
+	 */
+	private static final class Holder {
+		private static final TilePack SHARED = load();
+	}
+
+	/**
+	 * reads a pack
+	 *
+	 * @param buffer the whole pack, or null for an empty pack
+	 * @throws IOException if the buffer does not hold a pack of a known version
+	 * @since 10/17/2026
+	 */
+	TilePack(ByteBuffer buffer) throws IOException {
+		if (buffer == null) {
+			this.buffer = null;
+			count = 0;
+			return;
+		}
+		if (buffer.limit() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+			throw new IOException("not a tile pack");
+		}
+		short version = buffer.getShort(Integer.BYTES);
+		if (version != VERSION) {
+			throw new IOException("tile pack has unsupported version " + version);
+		}
+		count = buffer.getShort(Integer.BYTES + Short.BYTES);
+		if (buffer.limit() < HEADER_BYTES + count * ENTRY_BYTES) {
+			throw new IOException("tile pack is shorter than its header describes");
+		}
+		this.buffer = buffer;
+	}
+
+	/**
+	 * @return the pack shipped with the library, read the first time this is called
+	 * @throws UncheckedIOException if the pack is there but cannot be read
+	 * @since 10/17/2026
+	 */
+	public static TilePack shared() {
+		return Holder.SHARED;
+	}
+
+	/**
+	 * simple getter
+	 *
+	 * @return the number of tours in the pack
+	 * @since 10/17/2026
+	 */
+	public int size() {
+		return count;
+	}
+
+	/**
+	 * looks up a tour
+	 *
+	 * @param ranks the number of ranks on the board
+	 * @param files the number of files on the board
+	 * @param odd true for a tour missing the top left corner, see Tour.oddTour()
+	 * @return the tour in compact form, transposed from the files x ranks board if only
+	 *         that one is packed, or null if neither is
+	 * @since 10/17/2026
+	 */
+	public byte[] get(int ranks, int files, boolean odd) {
+		byte[] tour = find(ranks, files, odd);
+		if (tour == null && ranks != files) {
+			byte[] transposed = find(files, ranks, odd);
+			if (transposed != null) {
+				tour = TourCache.transpose(transposed, files, ranks);
+			}
+		}
+		return tour;
+	}
+
+	/**
+	 * @return a copy of the tour of exactly this shape, or null if it is not packed
+	 * @since 10/17/2026
+	 */
+	private byte[] find(int ranks, int files, boolean odd) {
+		for (int i = 0; i < count; i++) {
+			int entry = HEADER_BYTES + i * ENTRY_BYTES;
+			if (buffer.get(entry) == ranks && buffer.get(entry + 1) == files
+					&& ((buffer.getShort(entry + 2) & ODD) != 0) == odd) {
+				byte[] tour = new byte[buffer.getInt(entry + 8)];
+				buffer.get(buffer.getInt(entry + 4), tour);
+				return tour;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @return the pack read from the resource next to this class, or an empty pack
+	 * @since 10/17/2026
+	 */
+	private static TilePack load() {
+		try {
+			URL url = TilePack.class.getResource(RESOURCE);
+			if (url == null || !Boolean.parseBoolean(System.getProperty("algorithms.tilePack", "true"))) {
+				return new TilePack(null);
+			}
+			if ("file".equals(url.getProtocol())) {
+				try (FileChannel channel = FileChannel.open(Paths.get(url.toURI()), StandardOpenOption.READ)) {
+					return new TilePack(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+				}
+			}
+			try (InputStream in = url.openStream()) {
+				byte[] bytes = in.readAllBytes();
+				ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+				buffer.put(bytes).flip();
+				return new TilePack(buffer);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		} catch (URISyntaxException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * @return the ranks and files of every shape to pack: the wide orientation of every
+	 *         base case, and the tiles of stripTour() longer than a base case as it
+	 *         searches them
+	 * @since 10/17/2026
+	 */
+	static int[][] shapes() {
+		List<int[]> shapes = new ArrayList<>();
+		for (int ranks = MIN_SIDE; ranks <= MAX_SIDE; ranks++) {
+			for (int files = ranks; files <= MAX_SIDE; files++) {
+				shapes.add(new int[] { ranks, files });
+			}
+		}
+		for (int across = MAX_SIDE + 1; across <= Tour.MAX_TILE_LENGTH; across++) {
+			for (int width = Tour.MIN_TILE; width <= Tour.MAX_TILE; width++) {
+				if (across % 2 == 0 || width % 2 == 0) {
+					shapes.add(new int[] { across, width });
+				}
+			}
+		}
+		return shapes.toArray(new int[0][]);
+	}
+
+	/**
+	 * solves every shape of the pack and writes it to a file
+	 *
+	 * @param file the file to write, replacing it if it exists
+	 * @throws IOException if the file cannot be written
+	 * @throws IllegalStateException if a shape has no tour
+	 * @since 10/17/2026
+	 */
+	public static void write(Path file) throws IOException {
+		int[][] shapes = shapes();
+		byte[][] tours = new byte[shapes.length][];
+		int bytes = HEADER_BYTES + shapes.length * ENTRY_BYTES;
+		for (int i = 0; i < shapes.length; i++) {
+			Tour tour = new Tour(shapes[i][0], shapes[i][1]);
+			tour.solveBoard();
+			if (!tour.isSolved()) {
+				throw new IllegalStateException(shapes[i][0] + " x " + shapes[i][1] + " has no tour");
+			}
+			tours[i] = tour.compactPath();
+			bytes += tours[i].length;
+		}
+
+		ByteBuffer buffer = ByteBuffer.allocate(bytes);
+		buffer.putInt(MAGIC).putShort(VERSION).putShort((short) shapes.length);
+		int offset = HEADER_BYTES + shapes.length * ENTRY_BYTES;
+		for (int i = 0; i < shapes.length; i++) {
+			boolean odd = shapes[i][0] % 2 == 1 && shapes[i][1] % 2 == 1;
+			buffer.put((byte) shapes[i][0]).put((byte) shapes[i][1]).putShort(odd ? ODD : 0);
+			buffer.putInt(offset).putInt(tours[i].length);
+			offset += tours[i].length;
+		}
+		for (byte[] tour : tours) {
+			buffer.put(tour);
+		}
+		buffer.flip();
+		try (FileChannel out = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			while (buffer.hasRemaining()) {
+				out.write(buffer);
+			}
+		}
+	}
+
+	/**
+	 * writes the pack, to run whenever the search changes the tours it finds
+	 *
+	 * @param args the file to write, src/algorithms/tiles.pack by default
+	 * @throws IOException if the file cannot be written
+	 * @since 10/17/2026
+	 */
+	public static void main(String[] args) throws IOException {
+		Path file = Paths.get(args.length > 0 ? args[0] : "src/algorithms/" + RESOURCE);
+		write(file);
+		System.out.println("wrote " + shapes().length + " tours to " + file);
+	}
+}
@@ -1,8 +1,12 @@
 package algorithms;
 
-import java.util.ArrayList;
-import java.util.LinkedList;
-import java.util.ListIterator;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+import java.util.concurrent.RecursiveTask;
 
 /**
  * Defines a chessboard and methods that allow the knight's tour to be performed
@@ -12,20 +16,67 @@ import java.util.ListIterator;
  * @since 10/19/2022
  */
 public class Tour {
+	// knight move deltas, in the order moves are generated
+	static final int[] RANK_OFFSETS = { 2, 2, -2, -2, 1, 1, -1, -1 };
+	static final int[] FILE_OFFSETS = { 1, -1, 1, -1, 2, -2, 2, -2 };
+
+	// width of the sentinel margin around the board and the value stored in it
+	private static final int MARGIN = 2;
+	private static final int BORDER = -1;
+
+	// narrowest sub-board split() may create, no narrower board has a structured tour
+	static final int MIN_QUARTER = 5;
+
+	// boards at least this many times longer than they are wide are solved as strips
+	static final int STRIP_ASPECT = 2;
+
+	// narrowest and widest tile of a strip, and the longest tile solved by searching,
+	// see stripTour()
+	static final int MIN_TILE = 6;
+	static final int MAX_TILE = 9;
+	static final int MAX_TILE_LENGTH = 11;
+
 	// tracking members
-	private int[][] board;
+	private int[] board;
 	private int steps;
-	private LinkedList<Move> path;
+	private TourPath path;
 
 	// efficiency members
 	private boolean solved;
 	private long runtime;
 
 	// size members
-	private int length;
+	private long length;
 	private int ranks;
 	private int files;
 
+	// padded board members
+	private int width;
+	private int[] moveOffsets;
+	private int[] cornerPairs;
+
+	// solver members
+	private SolverOptions options;
+	private TourStats stats;
+	private int level;
+
+	// search members
+	private int[] degrees;
+	private int[] moveBuffer;
+	private int[] stack;
+	private int[] tieKeys;
+	private TieBreaker tieBreaker;
+	private boolean outOfBudget;
+
+	// pruning members, see SolverOptions.setPruning()
+	private boolean pruning;
+	private int zeroCount;
+	private int oneCount;
+	private int[] queue;
+	private int[] seen;
+	private int stamp;
+	private int blank;
+
 	// Constructors
 
 	/**
@@ -37,15 +88,7 @@ public class Tour {
 	 */
 	@SuppressWarnings("unused")
 	public Tour(int size) {
-		board = new int[size][size];
-		steps = 1;
-		path = new LinkedList<>();
-
-		solved = false;
-
-		length = (size * size) + 1;
-		ranks = size;
-		files = size;
+		this(size, size);
 	}
 
 	/**
@@ -58,20 +101,51 @@ public class Tour {
 	 */
 	@SuppressWarnings("unused")
 	public Tour(int ranks, int files) {
-		board = new int[ranks][files];
 		steps = 1;
-		path = new LinkedList<>();
+		path = new TourPath(ranks, files);
 
 		solved = false;
 
-		length = (ranks * files) + 1;
+		length = ((long) ranks * files) + 1;
 		this.ranks = ranks;
 		this.files = files;
+
+		options = new SolverOptions();
+		stats = new TourStats();
+		tieBreaker = TieBreaker.NONE;
+		level = 0;
+
+		// every real square keeps a two square margin of sentinels on each side so that
+		// all eight knight moves from it stay inside the array
+		width = files + 2 * MARGIN;
+
+		moveOffsets = new int[RANK_OFFSETS.length];
+		for (int i = 0; i < moveOffsets.length; i++) {
+			moveOffsets[i] = RANK_OFFSETS[i] * width + FILE_OFFSETS[i];
+		}
+
+		// pairs of squares in each corner that a structured tour has to connect
+		cornerPairs = new int[] {
+				// case 1: [0][1] -> [2][0] and [0][2] -> [1][0]
+				square(0, 1), square(2, 0),
+				square(0, 2), square(1, 0),
+				// case 2: [0][n-2] -> [2][n-1] and [0][n-3] -> [1][n-1]
+				square(0, files - 2), square(2, files - 1),
+				square(0, files - 3), square(1, files - 1),
+				// case 3: [m-3][0] -> [m-1][1] and [m-2][0] -> [m-1][2]
+				square(ranks - 3, 0), square(ranks - 1, 1),
+				square(ranks - 2, 0), square(ranks - 1, 2),
+				// case 4: [m-3][n-1] -> [m-1][n-2] and [m-2][n-1] -> [m-1][n-3]
+				square(ranks - 3, files - 1), square(ranks - 1, files - 2),
+				square(ranks - 2, files - 1), square(ranks - 1, files - 3) };
 	}
 
 	// Getters
 	/**
-	 * simple getter method for determining if the board is solved from outside the class
+	 * simple getter method for determining if the board is solved from outside the class.
+	 * After start() a board is only solved if its path covers every square. The sub-boards
+	 * of DNCTour() also count an odd tour that misses only the top left corner as solved,
+	 * since that is what joinTours() needs from them.
 	 * 
 	 * @return solvable class member
 	 * @since 10/19/2022
@@ -92,6 +166,46 @@ public class Tour {
 		return runtime;
 	}
 
+	/**
+	 * simple getter method for reading the order in which the knight visits the squares
+	 * 
+	 * @return path class member
+	 * @since 10/17/2026
+	 */
+	public TourPath getPath() {
+		return path;
+	}
+
+	/**
+	 * simple getter
+	 * 
+	 * @return the number of ranks on the board
+	 * @since 10/17/2026
+	 */
+	public int getRanks() {
+		return ranks;
+	}
+
+	/**
+	 * simple getter
+	 * 
+	 * @return the number of files on the board
+	 * @since 10/17/2026
+	 */
+	public int getFiles() {
+		return files;
+	}
+
+	/**
+	 * simple getter method for reading how much work solving the board took
+	 * 
+	 * @return stats class member
+	 * @since 10/17/2026
+	 */
+	public TourStats getStats() {
+		return stats;
+	}
+
 	// Methods for algorithm
 	
 	/**
@@ -101,17 +215,114 @@ public class Tour {
 	 * @author Evan Dreher
 	 */
 	public void start(boolean divide) {
-		if(divide) {
+		SolverOptions options = new SolverOptions();
+		options.setDivide(divide);
+		start(options);
+	}
+
+	/**
+	 * starts solving the board as described by a set of options
+	 * @param options how to solve the board, see SolverOptions
+	 * @since 10/17/2026
+	 */
+	public void start(SolverOptions options) {
+		start(0, 0, options);
+	}
+
+	/**
+	 * starts solving the board as described by a set of options, with the tour beginning
+	 * on a given square. A closed tour from divide and conquer is solved once, checked
+	 * with TourValidator and then rotated to begin on the square, which only takes a new
+	 * view of the path.
+	 * 
+	 * Any other result of divide and conquer is handled the same way whatever the
+	 * square. A base case board, such as an odd board whose tour misses a corner, is
+	 * searched for an open tour from the square. On a larger board that search could run
+	 * for longer than anyone would wait, so the board is left unsolved with an empty path
+	 * instead. An odd board has no open tour from a square of the colour it has fewer of,
+	 * so such a square is left unsolved without searching. The path of a solved board
+	 * always begins on the square.
+	 * 
+	 * @param rank the rank of the first square of the tour
+	 * @param file the file of the first square of the tour
+	 * @param options how to solve the board, see SolverOptions
+	 * @throws IllegalArgumentException if the square is not on the board
+	 * @since 10/17/2026
+	 */
+	public void start(int rank, int file, SolverOptions options) {
+		if (rank < 0 || rank >= ranks || file < 0 || file >= files) {
+			throw new IllegalArgumentException("[" + rank + "][" + file + "] is not on the board");
+		}
+		this.options = options;
+		if(options.isDivide()) {
 			runtime = System.currentTimeMillis();
-			Tour t = DNCTour();
-			runtime = System.currentTimeMillis() - runtime;
+			Tour t = options.isParallel() ? options.getPool().invoke(new DNCTask(this)) : DNCTour();
 			this.path = t.path;
 			this.board = t.board;
-			this.solved = t.solved;
+			// an odd tour is only a solution for the sub-boards joinTours() consumes, and
+			// rotating trusts every step of the tour, so it has to pass the validator
+			this.solved = t.solved && t.path.size() == length - 1 && new TourValidator().isValid(t.path, false);
+			this.stats = t.stats;
+			if (solved && isClosed()) {
+				rotateTo(rank, file);
+			} else if (!solved || path.find(rank, file) != 0) {
+				// only a closed tour can begin anywhere
+				path = new TourPath(ranks, files);
+				board = null;
+				steps = 1;
+				solved = false;
+				boolean minority = ranks % 2 == 1 && files % 2 == 1 && (rank + file) % 2 == 1;
+				if (isBaseCase() && !minority) {
+					tour(rank, file);
+				}
+			}
+			runtime = System.currentTimeMillis() - runtime;
+			stats.seed = options.getSeed();
+			if (options.getBoardStore() != null) {
+				writeTo(options.getBoardStore());
+			}
 		} else {
 			runtime = System.currentTimeMillis();
-			tour(0, 0);
+			tour(rank, file);
 			runtime = System.currentTimeMillis() - runtime;
+			stats.seed = options.getSeed();
+		}
+	}
+
+	/**
+	 * checks that the tour is solved and the knight can move from its last square back
+	 * to its first
+	 * 
+	 * @return true if the tour is a closed tour of the whole board
+	 * @since 10/17/2026
+	 */
+	public boolean isClosed() {
+		if (!solved || path.size() != length - 1 || path.size() < 2) {
+			return false;
+		}
+		int rankOffset = Math.abs(path.rank(path.size() - 1) - path.rank(0));
+		int fileOffset = Math.abs(path.file(path.size() - 1) - path.file(0));
+		return (rankOffset == 1 && fileOffset == 2) || (rankOffset == 2 && fileOffset == 1);
+	}
+
+	/**
+	 * makes a closed tour begin on another of its squares. The path is composed from two
+	 * views of the old one without copying any squares, and the board is numbered again
+	 * from it the next time it is needed.
+	 * 
+	 * @param rank the rank of the new first square
+	 * @param file the file of the new first square
+	 * @throws IllegalStateException if the tour is not closed
+	 * @since 10/17/2026
+	 */
+	public void rotateTo(int rank, int file) {
+		if (!isClosed()) {
+			throw new IllegalStateException("only a closed tour can be rotated");
+		}
+		long step = path.find(rank, file);
+		if (step > 0) {
+			path = TourPath.concat(ranks, files, path.slice(step, path.size() - step), path.slice(0, step));
+			board = null;
 		}
 	}
 
@@ -156,419 +367,1451 @@ public class Tour {
 	}
 
 	/**
-	 * finds all legal knight-moves from [rank][file]. The following are the legal squares
-	 * to which the knigth can hop
-	 * [rank + 2][file + 1]
-	 * [rank + 2][file - 1]
-	 * [rank + 1][file + 2]
-	 * [rank + 1][file - 2]
-	 * [rank - 1][file + 2]
-	 * [rank - 1][file - 2]
-	 * [rank - 2][file + 1]
-	 * [rank - 2][file - 1]
-	 * assuming each of those squares is contained within the board
+	 * converts a rank and file into an index of the padded board array
 	 * 
-	 * @param rank the rank to find moves from
-	 * @param file the file to find moves from
-	 * @return a filelection of integer pairs represented as arrays of length 2.
-	 * @since 10/19/2022
-	 * @author Evan Dreher
+	 * @param rank the rank of the square
+	 * @param file the file of the square
+	 * @return the index of [rank][file] in the board array
+	 * @since 10/17/2026
 	 */
-	public ArrayList<int[]> findMoves(int rank, int file) {
-		ArrayList<int[]> legalMoves = new ArrayList<>();
-		if (rank + 2 < board.length) {
-			if (file + 1 < board[0].length) {
-				int[] move = { rank + 2, file + 1 };
-				legalMoves.add(move);
-			}
-			if (file - 1 >= 0) {
-				int[] move = { rank + 2, file - 1 };
-				legalMoves.add(move);
-			}
-		}
-		if (rank - 2 >= 0) {
-			if (file + 1 < board[0].length) {
-				int[] move = { rank - 2, file + 1 };
-				legalMoves.add(move);
-			}
-			if (file - 1 >= 0) {
-				int[] move = { rank - 2, file - 1 };
-				legalMoves.add(move);
-			}
-		}
-		if (rank + 1 < board.length) {
-			if (file + 2 < board[0].length) {
-				int[] move = { rank + 1, file + 2 };
-				legalMoves.add(move);
-			}
-			if (file - 2 >= 0) {
-				int[] move = { rank + 1, file - 2 };
-				legalMoves.add(move);
-			}
-		}
-		if (rank - 1 >= 0) {
-			if (file + 2 < board[0].length) {
-				int[] move = { rank - 1, file + 2 };
-				legalMoves.add(move);
-			}
-			if (file - 2 >= 0) {
-				int[] move = { rank - 1, file - 2 };
-				legalMoves.add(move);
-			}
-		}
-		return legalMoves;
+	public int square(int rank, int file) {
+		return (rank + MARGIN) * width + file + MARGIN;
 	}
 
 	/**
-	 * calls findMoves() and sorts those moves in ascending order of how many
-	 * options there are from the square you move to
-	 * 
-	 * @param rank the rank to find moves from
-	 * @param file the file to find mvoes from
-	 * @return a filelection of integer pairs represented as arrays
-	 * @since 10/20/2022
-	 * @author Evan Dreher
+	 * @param square an index of the padded board array
+	 * @return the rank of that square
+	 * @since 10/17/2026
 	 */
-	public int[][] warnsdorffMoves(int rank, int file) {
-		ArrayList<int[]> moves = findMoves(rank, file);
+	public int rankOf(int square) {
+		return square / width - MARGIN;
+	}
 
-		// find out how many continuing moves there are from each move
-		int[] branches = new int[moves.size()];
-		for (int i = 0; i < branches.length; i++) {
-			branches[i] = findMoves(moves.get(i)[0], moves.get(i)[1]).size();
-		}
+	/**
+	 * @param square an index of the padded board array
+	 * @return the file of that square
+	 * @since 10/17/2026
+	 */
+	public int fileOf(int square) {
+		return square % width - MARGIN;
+	}
 
-		// counting sort those moves
-		int[] counts = new int[9];
-		for (int i : counts) {
-			counts[i] = 0;
-		}
-		for (int i : branches) {
-			counts[i]++;
+	/**
+	 * allocates the padded board the first time it is needed. Boards built by joinTours()
+	 * only get one if their step numbers are read, see materialize().
+	 * 
+	 * @since 10/17/2026
+	 */
+	private void prepareBoard() {
+		if (board != null) {
+			return;
 		}
-
-		for (int i = 1; i < counts.length; i++) {
-			counts[i] += counts[i - 1];
+		// boards too large for this array can still be numbered in a BoardStore, see writeTo()
+		board = new int[Math.multiplyExact(ranks + 2 * MARGIN, width)];
+		Arrays.fill(board, BORDER);
+		for (int rank = 0; rank < ranks; rank++) {
+			Arrays.fill(board, square(rank, 0), square(rank, 0) + files, 0);
 		}
 
-		int[][] warnsdorffMoves = new int[moves.size()][2];
-		int[] output = new int[moves.size()];
-		for (int i = warnsdorffMoves.length - 1; i >= 0; i--) {
-			warnsdorffMoves[counts[branches[i]] - 1] = moves.get(i);
-			output[counts[branches[i]] - 1] = branches[i];
-			counts[branches[i]]--;
+		// number of unvisited squares reachable from each square, kept up to date by mark()
+		// and unmark() while searching
+		degrees = new int[board.length];
+		for (int rank = 0; rank < ranks; rank++) {
+			for (int file = 0; file < files; file++) {
+				int square = square(rank, file);
+				for (int offset : moveOffsets) {
+					if (board[square + offset] != BORDER) {
+						degrees[square]++;
+					}
+				}
+			}
 		}
-
-		return warnsdorffMoves;
 	}
 
 	/**
-	 * recursively solves the knight's tour problem using a simple backtracking
-	 * algorithm, solution is an open knight's tour
+	 * numbers the squares of the board from the path if that has not been done yet
 	 * 
-	 * @param rank the rank that the knight is on
-	 * @param file the file that the knight is on
-	 * @since 10/19/2022
-	 * @author Evan Dreher
+	 * @since 10/17/2026
 	 */
-	public void tour(int rank, int file) {
-		// mark current square
-		board[rank][file] = steps;
-		steps++;
-		path.add(new Move(rank, file));
-
-		// try all branches from current square
-		int[][] moves = warnsdorffMoves(rank, file);
-		for (int[] ia : moves) {
-			if (board[ia[0]][ia[1]] == 0) {
-				tour(ia[0], ia[1]);
+	private void materialize() {
+		if (board == null) {
+			prepareBoard();
+			for (int i = 0; i < path.size(); i++) {
+				board[square(path.rank(i), path.file(i))] = i + 1;
 			}
+			steps = (int) path.size() + 1;
 		}
+	}
 
-		// check if problem is done
-		if (tourCompleted()) {
-			return;
+	/**
+	 * finds all legal knight-moves from a square. The following are the legal squares
+	 * to which the knight can hop
+	 * [rank + 2][file + 1]
+	 * [rank + 2][file - 1]
+	 * [rank - 2][file + 1]
+	 * [rank - 2][file - 1]
+	 * [rank + 1][file + 2]
+	 * [rank + 1][file - 2]
+	 * [rank - 1][file + 2]
+	 * [rank - 1][file - 2]
+	 * assuming each of those squares is contained within the board. Squares off the
+	 * board land in the sentinel margin, so no bounds checks are needed.
+	 * 
+	 * @param square the square to find moves from
+	 * @param moves buffer of at least 8 entries that receives the destination squares
+	 * @return the number of moves written into the buffer
+	 * @since 10/17/2026
+	 */
+	public int findMoves(int square, int[] moves) {
+		prepareBoard();
+		int count = 0;
+		for (int offset : moveOffsets) {
+			int to = square + offset;
+			if (board[to] != BORDER) {
+				moves[count++] = to;
+			}
 		}
-
-		// if not child nodes had a successful tour
-		board[rank][file] = 0;
-		steps--;
-		path.removeLast();
+		return count;
 	}
 
 	/**
-	 * recursively solves the knight's tour problem using a simple backtracking
-	 * algorithm in such a way that the tour will be "structured" as described by
-	 * Dr. Ian Parberry
+	 * finds the unvisited squares a knight can move to from a square and sorts them in
+	 * ascending order of how many unvisited squares can be reached from each of them.
+	 * Ties are broken by the TieBreaker of the solver options, or a random one after the
+	 * search restarts, and keep the order in which findMoves() generates the moves if that
+	 * cannot tell them apart either.
 	 * 
-	 * A structured knight's tour has the following formation in each corner
-	 * 
-	 * 1 |A |X |
-	 * ---------
-	 * 2 |X |C |
-	 * ---------
-	 * B |1 |2 |
-	 * 
-	 * where the two 1s connect by a knight's move, the two 2s connect by a knight's move,
-	 * ABC connect by two knight's move in that order or the opposite order and the "B"
-	 * square is a corner, and the X's are arbitrary knight's moves. 
-	 * The formation here show the bottom left corner, but it is rotated
-	 * to fit other corners.
-	 * @param rank the ranks that the knight is on
-	 * @param file the file that the knight is on
-	 * @since 11/3/2022
+	 * @param square the square to find moves from
+	 * @param moves buffer that receives the destination squares in the order they should
+	 * be tried
+	 * @param start the index of moves at which to write the first destination, at least
+	 * 8 entries must be available from there
+	 * @return the number of destinations written into moves
+	 * @since 10/20/2022
 	 * @author Evan Dreher
 	 */
-	public void structuredTour(int rank, int file) {
-		// eliminates incorrect routes before even trying them for an m x n board
-
-		// make sure knight's tour is closed
-		if ((rank == 1 && file == 2) || (rank == 2 && file == 1)) {
-			if (!(steps == 2 || steps == length - 1)) {
-				return;
-			}
+	public int warnsdorffMoves(int square, int[] moves, int start) {
+		prepareBoard();
+		if (tieBreaker != TieBreaker.NONE) {
+			return warnsdorffMoves(square, moves, start, tieBreaker);
 		}
-
-		// case 1: [0][1] -> [2][0] do not connect and [0][2] -> [1][0] do not connect
-		if (board[0][1] != 0 && board[2][0] != 0) {
-			if (Math.abs(board[0][1] - board[2][0]) != 1) {
-				return;
+		int count = 0;
+		for (int offset : moveOffsets) {
+			int to = square + offset;
+			if (board[to] != 0) {
+				continue;
 			}
-		}
 
-		if (board[0][2] != 0 && board[1][0] != 0) {
-			if (Math.abs(board[0][2] - board[1][0]) != 1) {
-				return;
+			// insertion sort on the live degree of each destination
+			int branches = degrees[to];
+			int i = start + count;
+			while (i > start && degrees[moves[i - 1]] > branches) {
+				moves[i] = moves[i - 1];
+				i--;
 			}
+			moves[i] = to;
+			count++;
 		}
+		return count;
+	}
 
-		// case 2: [0][n-2] -> [2][n-1] and [0][n-3] -> [1][n-1]
-		if (board[0][files - 2] != 0 && board[2][files - 1] != 0) {
-			if (Math.abs(board[0][files - 2] - board[2][files - 1]) != 1) {
-				return;
-			}
+	/**
+	 * warnsdorffMoves() with ties broken by the keys of a tie-breaker
+	 * 
+	 * @param square the square to find moves from
+	 * @param moves buffer that receives the destination squares
+	 * @param start the index of moves at which to write the first destination
+	 * @param tieBreaker the tie-breaker to ask for the key of every move
+	 * @return the number of destinations written into moves
+	 * @since 10/17/2026
+	 */
+	private int warnsdorffMoves(int square, int[] moves, int start, TieBreaker tieBreaker) {
+		if (tieKeys == null) {
+			tieKeys = new int[RANK_OFFSETS.length];
 		}
-
-		if (board[0][files - 3] != 0 && board[1][files - 1] != 0) {
-			if (Math.abs(board[0][files - 3] - board[1][files - 1]) != 1) {
-				return;
+		int count = 0;
+		for (int move = 0; move < moveOffsets.length; move++) {
+			int to = square + moveOffsets[move];
+			if (board[to] != 0) {
+				continue;
 			}
-		}
 
-		// case 3: [m-3][0] -> [m-1][1] and [m-2][0] -> [m-1][2] do not connect
-		if (board[ranks - 3][0] != 0 && board[ranks - 1][1] != 0) {
-			if (Math.abs(board[ranks - 3][0] - board[ranks - 1][1]) != 1) {
-				return;
+			// insertion sort on the live degree, then the key, of each destination
+			int branches = degrees[to];
+			int key = tieBreaker.key(this, square, to, move);
+			int i = count;
+			while (i > 0 && (degrees[moves[start + i - 1]] > branches
+					|| (degrees[moves[start + i - 1]] == branches && tieKeys[i - 1] > key))) {
+				moves[start + i] = moves[start + i - 1];
+				tieKeys[i] = tieKeys[i - 1];
+				i--;
 			}
+			moves[start + i] = to;
+			tieKeys[i] = key;
+			count++;
 		}
+		return count;
+	}
 
-		if (board[ranks - 2][0] != 0 && board[ranks - 1][2] != 0) {
-			if (Math.abs(board[ranks - 2][0] - board[ranks - 1][2]) != 1) {
-				return;
-			}
-		}
+	/**
+	 * @param square a square of the board
+	 * @return the number of unvisited squares a knight can reach from square
+	 * @since 10/17/2026
+	 */
+	public int degree(int square) {
+		prepareBoard();
+		return degrees[square];
+	}
 
-		// case 4: [m-3][n-1] -> [m-1][n-2] and [m-2][n-1] -> [m-1][n-3] do not connect
-		if (board[ranks - 3][files - 1] != 0 && board[ranks - 1][files - 2] != 0) {
-			if (Math.abs(board[ranks - 3][files - 1] - board[ranks - 1][files - 2]) != 1) {
-				return;
+	/**
+	 * @param square a square of the board
+	 * @return the number of onward moves from every unvisited square a knight can reach
+	 *         from square, added together, see TieBreaker.POHL
+	 * @since 10/17/2026
+	 */
+	int secondDegree(int square) {
+		int sum = 0;
+		for (int offset : moveOffsets) {
+			int to = square + offset;
+			if (board[to] == 0) {
+				sum += degrees[to];
 			}
 		}
+		return sum;
+	}
 
-		if (board[ranks - 2][files - 1] != 0 && board[ranks - 1][files - 3] != 0) {
-			if (Math.abs(board[ranks - 2][files - 1] - board[ranks - 1][files - 3]) != 1) {
-				return;
+	/**
+	 * visits a square, numbering it with the current step and removing it from the
+	 * live degree of every square around it
+	 * 
+	 * @param square the square the knight moves to
+	 * @since 10/17/2026
+	 */
+	private void mark(int square) {
+		if (pruning) {
+			// the square leaves the unvisited squares and takes a way in from each of its
+			// unvisited neighbours
+			uncount(square);
+			board[square] = steps;
+			steps++;
+			for (int offset : moveOffsets) {
+				int to = square + offset;
+				degrees[to]--;
+				if (board[to] == 0 && to != blank) {
+					oneCount += degrees[to] == 1 ? 1 : degrees[to] == 0 ? -1 : 0;
+					zeroCount += degrees[to] == 0 ? 1 : 0;
+				}
 			}
+			return;
 		}
 
-		// mark current square
-		board[rank][file] = steps;
+		board[square] = steps;
 		steps++;
-		path.add(new Move(rank, file));
+		for (int offset : moveOffsets) {
+			degrees[square + offset]--;
+		}
+	}
 
-		// try all branches from current square
-		int[][] moves = warnsdorffMoves(rank, file);
-		for (int[] ia : moves) {
-			if (board[ia[0]][ia[1]] == 0) {
-				structuredTour(ia[0], ia[1]);
+	/**
+	 * undoes mark()
+	 * 
+	 * @param square the square the knight backs out of
+	 * @since 10/17/2026
+	 */
+	private void unmark(int square) {
+		board[square] = 0;
+		steps--;
+		for (int offset : moveOffsets) {
+			int to = square + offset;
+			if (pruning && board[to] == 0) {
+				uncount(to);
+				degrees[to]++;
+				recount(to);
+			} else {
+				degrees[to]++;
 			}
 		}
+		if (pruning) {
+			recount(square);
+		}
+	}
 
-		// check if problem is done
-		if (tourCompleted()) {
+	/**
+	 * removes an unvisited square from the count of squares with no or one unvisited
+	 * neighbour
+	 * 
+	 * @param square an unvisited square
+	 * @since 10/17/2026
+	 */
+	private void uncount(int square) {
+		if (square == blank) {
 			return;
+		} else if (degrees[square] == 0) {
+			zeroCount--;
+		} else if (degrees[square] == 1) {
+			oneCount--;
 		}
-
-		// if not child nodes had a successful tour
-		board[rank][file] = 0;
-		steps--;
-		path.removeLast();
 	}
 
 	/**
-	 * completes a structured closed tour missing only the top left corner on a
-	 * board where both height and width are odd. see structureTour() for a description of
-	 * a structured knight's tour.
+	 * adds an unvisited square to the count of squares with no or one unvisited neighbour
 	 * 
-	 * @param rank the current rank that the knight is on
-	 * @param file the current file that the knight is on
-	 * @return a structured closed tour missing only the top left corner.
-	 * @since 11/5/2022
-	 * @author Evan Dreher
+	 * @param square an unvisited square
+	 * @since 10/17/2026
 	 */
-	public void oddTour(int rank, int file) {
-
-		// top left square should be blank
-		if (rank == 0 && file == 0) {
+	private void recount(int square) {
+		if (square == blank) {
 			return;
+		} else if (degrees[square] == 0) {
+			zeroCount++;
+		} else if (degrees[square] == 1) {
+			oneCount++;
 		}
+	}
 
-		// eliminates incorrect routes before even trying them for an m x n board
-
-		// make sure knight's tour is closed
-		if ((rank == ranks - 2 && file == files - 3) || (rank == ranks - 3 && file == files - 2)) {
-			if (!(steps == 2 || steps == length - 2)) {
-				return;
+	/**
+	 * counts the unvisited squares with no or one unvisited neighbour from scratch, and
+	 * allocates the buffers of the flood fill
+	 * 
+	 * @since 10/17/2026
+	 */
+	private void preparePruning() {
+		zeroCount = 0;
+		oneCount = 0;
+		for (int square = 0; square < board.length; square++) {
+			if (board[square] == 0) {
+				recount(square);
 			}
 		}
-		// case 1: [0][1] -> [2][0] do not connect and [0][2] -> [1][0] do not connect
-		if (board[0][1] != 0 && board[2][0] != 0) {
-			if (Math.abs(board[0][1] - board[2][0]) != 1) {
-				return;
-			}
+		if (queue == null) {
+			queue = new int[board.length];
+			seen = new int[board.length];
 		}
+	}
 
-		if (board[0][2] != 0 && board[1][0] != 0) {
-			if (Math.abs(board[0][2] - board[1][0]) != 1) {
-				return;
+	/**
+	 * looks for unvisited squares that the knight can no longer reach from where it
+	 * stands. Squares next to the knight can still be entered from it, any other square
+	 * needs an unvisited neighbour to be entered from and another to leave by, unless it
+	 * is the last square of the tour. So a tour cannot be completed if a square away from
+	 * the knight has no unvisited neighbours, if two squares away from the knight have
+	 * only one, or if a square next to the knight has none and is not the last square.
+	 * 
+	 * @param square the square the knight just moved to
+	 * @param remaining the number of squares still to visit
+	 * @return true if the partial tour cannot be completed
+	 * @since 10/17/2026
+	 */
+	private boolean deadEnd(int square, int remaining) {
+		if (remaining <= 1) {
+			return false;
+		}
+		int zeros = zeroCount;
+		int ones = oneCount;
+		for (int offset : moveOffsets) {
+			int to = square + offset;
+			if (board[to] == 0 && to != blank) {
+				if (degrees[to] == 0) {
+					// the knight has to move there now and could never leave again
+					return true;
+				} else if (degrees[to] == 1) {
+					ones--;
+				}
 			}
 		}
+		return zeros > 0 || ones > 1;
+	}
 
-		// case 2: [0][n-2] -> [2][n-1] and [0][n-3] -> [1][n-1]
-		if (board[0][files - 2] != 0 && board[2][files - 1] != 0) {
-			if (Math.abs(board[0][files - 2] - board[2][files - 1]) != 1) {
-				return;
+	/**
+	 * checks that every unvisited square can still be reached from the knight by moving
+	 * through unvisited squares
+	 * 
+	 * @param square the square the knight just moved to
+	 * @param remaining the number of squares still to visit
+	 * @return true if some unvisited square is cut off from the knight
+	 * @since 10/17/2026
+	 */
+	private boolean disconnected(int square, int remaining) {
+		stamp++;
+		int head = 0;
+		int tail = 0;
+		queue[tail++] = square;
+		while (head < tail) {
+			int from = queue[head++];
+			for (int offset : moveOffsets) {
+				int to = from + offset;
+				if (board[to] == 0 && to != blank && seen[to] != stamp) {
+					seen[to] = stamp;
+					queue[tail++] = to;
+				}
 			}
 		}
+		return tail - 1 < remaining;
+	}
 
-		if (board[0][files - 3] != 0 && board[1][files - 1] != 0) {
-			if (Math.abs(board[0][files - 3] - board[1][files - 1]) != 1) {
-				return;
-			}
+	/**
+	 * allocates the buffers used by search(): one block of 8 moves per step of the tour
+	 * so that no step needs to allocate its own, and a stack holding the square and the
+	 * next untried move of every step
+	 * 
+	 * @since 10/17/2026
+	 */
+	private void prepareSearch() {
+		prepareBoard();
+		if (moveBuffer == null) {
+			moveBuffer = new int[Math.toIntExact(length * RANK_OFFSETS.length)];
+			stack = new int[Math.toIntExact(length * 2)];
 		}
+	}
 
-		// case 3: [m-3][0] -> [m-1][1] and [m-2][0] -> [m-1][2] do not connect
-		if (board[ranks - 3][0] != 0 && board[ranks - 1][1] != 0) {
-			if (Math.abs(board[ranks - 3][0] - board[ranks - 1][1]) != 1) {
-				return;
+	/**
+	 * rules that adapt search() to each kind of tour. prunes() is asked about every
+	 * square right after the knight lands on it and completed() decides when the search
+	 * can stop. BitboardSearch follows the same rules.
+	 * 
+	 * @since 10/17/2026
+	 */
+	enum Variant {
+		/**
+		 * open tour over the whole board, see tour()
+		 */
+		OPEN {
+			@Override
+			boolean prunes(Tour tour, int square) {
+				return false;
 			}
-		}
 
-		if (board[ranks - 2][0] != 0 && board[ranks - 1][2] != 0) {
-			if (Math.abs(board[ranks - 2][0] - board[ranks - 1][2]) != 1) {
-				return;
+			@Override
+			boolean completed(Tour tour) {
+				return tour.tourCompleted();
 			}
-		}
+		},
+
+		/**
+		 * closed structured tour over the whole board, see structuredTour()
+		 */
+		STRUCTURED {
+			@Override
+			boolean prunes(Tour tour, int square) {
+				// make sure knight's tour is closed
+				if (square == tour.square(1, 2) || square == tour.square(2, 1)) {
+					int step = tour.board[square];
+					if (!(step == 2 || step == tour.length - 1)) {
+						tour.stats.closurePrunes++;
+						return true;
+					}
+				}
 
-		// case 4: [m-3][n-1] -> [m-1][n-2] and [m-2][n-1] -> [m-1][n-3] do not connect
-		if (board[ranks - 3][files - 1] != 0 && board[ranks - 1][files - 2] != 0) {
-			if (Math.abs(board[ranks - 3][files - 1] - board[ranks - 1][files - 2]) != 1) {
-				return;
+				// make sure every corner keeps its structured formation
+				return !tour.cornersConnected();
 			}
-		}
 
-		if (board[ranks - 2][files - 1] != 0 && board[ranks - 1][files - 3] != 0) {
-			if (Math.abs(board[ranks - 2][files - 1] - board[ranks - 1][files - 3]) != 1) {
-				return;
+			@Override
+			boolean completed(Tour tour) {
+				return tour.tourCompleted();
 			}
-		}
+		},
+
+		/**
+		 * closed structured tour missing the top left corner, see oddTour()
+		 */
+		ODD {
+			@Override
+			boolean prunes(Tour tour, int square) {
+				// top left square should be blank
+				if (square == tour.square(0, 0)) {
+					tour.stats.blankCornerPrunes++;
+					return true;
+				}
 
-		// mark current square
-		board[rank][file] = steps;
-		steps++;
-		path.add(new Move(rank, file));
+				// make sure knight's tour is closed
+				if (square == tour.square(tour.ranks - 2, tour.files - 3)
+						|| square == tour.square(tour.ranks - 3, tour.files - 2)) {
+					int step = tour.board[square];
+					if (!(step == 2 || step == tour.length - 2)) {
+						tour.stats.closurePrunes++;
+						return true;
+					}
+				}
 
-		// try all branches from current square
-		int[][] moves = warnsdorffMoves(rank, file);
-		for (int[] ia : moves) {
-			if (board[ia[0]][ia[1]] == 0) {
-				oddTour(ia[0], ia[1]);
+				// make sure every corner keeps its structured formation
+				return !tour.cornersConnected();
 			}
-		}
 
-		// check if problem is done
-		if (oddTourCompleted()) {
-			return;
+			@Override
+			boolean completed(Tour tour) {
+				return tour.oddTourCompleted();
+			}
+		};
+
+		/**
+		 * @param tour the tour being searched
+		 * @param square the square that was just marked
+		 * @return true if no solution can follow from the current partial tour
+		 */
+		abstract boolean prunes(Tour tour, int square);
+
+		/**
+		 * @param tour the tour being searched
+		 * @return true if the current partial tour is a solution
+		 */
+		abstract boolean completed(Tour tour);
+	}
+
+	/**
+	 * solves the knight's tour problem from a square by backtracking with an explicit
+	 * stack instead of recursion, so the depth of the search is only limited by the size
+	 * of the board. Moves are tried in the order given by warnsdorffMoves().
+	 * 
+	 * If a solution is found the board keeps its step numbers and the path is filled in,
+	 * otherwise the board is left empty.
+	 * 
+	 * With SolverOptions.setBacktracking() turned off an open tour is a single pass that
+	 * fails as soon as the knight is stuck, so it takes time in proportion to the board.
+	 * 
+	 * With SolverOptions.setPruning() the search also backs out of any square that leaves
+	 * unvisited squares the knight can no longer pass through, see deadEnd() and
+	 * disconnected().
+	 * 
+	 * @param start the square the knight starts on
+	 * @param variant the pruning and completion rules of the tour being searched for
+	 * @return true if a solution was found
+	 * @since 10/17/2026
+	 */
+	private boolean search(int start, Variant variant) {
+		if (options.isBitboard() && BitboardSearch.fits(ranks, files) && steps == 1 && !options.isPruning()
+				&& options.getTieBreaker() == TieBreaker.NONE && options.getNodeBudget() == 0) {
+			return bitboardSearch(start, variant);
+		}
+		prepareSearch();
+
+		// number of squares the tour visits
+		int target = (int) length - 1;
+		pruning = options.isPruning();
+		if (pruning) {
+			// the top left corner of an odd tour stays blank, so the pruning ignores it
+			// rather than take it for a square the knight can no longer reach
+			blank = variant == Variant.ODD ? square(0, 0) : 0;
+			if (variant == Variant.ODD) {
+				target--;
+			}
+			preparePruning();
 		}
 
-		// if not child nodes had a successful tour
-		board[rank][file] = 0;
-		steps--;
-		path.removeLast();
+		tieBreaker = options.getTieBreaker();
+		long budget = options.getNodeBudget() > 0 && options.getMaxRestarts() > 0 ? options.getNodeBudget()
+				: Long.MAX_VALUE;
+		boolean found = search(start, variant, target, budget);
+		if (!found && outOfBudget) {
+			found = restart(start, variant, target);
+		}
+		tieBreaker = TieBreaker.NONE;
+		pruning = false;
+		return found;
 	}
 
 	/**
-	 * an efficient algorithm for solving the knight's tours the recursivle splits
-	 * the board into smaller subproblems that can be solved and merged as described
-	 * by Dr. Ian Parberry.
+	 * search(int, Variant) for boards of at most 64 squares, see BitboardSearch. The tour
+	 * found is the same, but only the path is filled in, the board is numbered from it
+	 * the next time it is needed.
 	 * 
-	 * @return a solved knight's tour
-	 * @since 11/6/2022
-	 * @author Christian Previtali
-	 * @author Evan Dreher
+	 * @param start the square the knight starts on
+	 * @param variant the pruning and completion rules of the tour being searched for
+	 * @return true if a solution was found
+	 * @since 10/17/2026
 	 */
-	public Tour DNCTour() {
-		Tour kt = null;
-		int file1 = 0;
-		int file2 = 0;
-		int rank1 = 0;
-		int rank2 = 0;
+	private boolean bitboardSearch(int start, Variant variant) {
+		BitboardSearch search = BitboardSearch.get();
+		boolean backtracking = variant != Variant.OPEN || options.isBacktracking();
+		if (!search.search(ranks, files, rankOf(start) * files + fileOf(start), variant, backtracking, stats)) {
+			return false;
+		}
+		for (int i = 0; i < search.length(); i++) {
+			path.add(search.squareAt(i) / files, search.squareAt(i) % files);
+		}
+		board = null;
+		steps = search.length() + 1;
+		return true;
+	}
+
+	/**
+	 * searches again with random tie-breaking after the first search ran out of nodes,
+	 * giving each attempt the budget of SolverOptions.setNodeBudget() or a multiple of it
+	 * from the Luby sequence. The last attempt allowed by SolverOptions.setMaxRestarts()
+	 * has no budget, so a tour is still found if there is one.
+	 * 
+	 * The random tie-breaking of each board is seeded from the seed of the options and
+	 * the shape of the board, so a solve can be repeated exactly by reusing the seed.
+	 * 
+	 * @param start the square to start from
+	 * @param variant the rules of the tour being searched for
+	 * @param target the number of squares the tour has to visit
+	 * @return true if a tour was found
+	 * @since 10/17/2026
+	 */
+	private boolean restart(int start, Variant variant, int target) {
+		long shape = ((long) ranks << 32 | files) * 0x9E3779B97F4A7C15L;
+		SplittableRandom seeds = new SplittableRandom(options.getSeed() ^ shape);
+		for (int attempt = 1; attempt <= options.getMaxRestarts(); attempt++) {
+			stats.restarts++;
+			SplittableRandom random = new SplittableRandom(seeds.nextLong());
+			tieBreaker = (tour, from, to, move) -> random.nextInt();
+
+			long budget = attempt == options.getMaxRestarts() ? Long.MAX_VALUE
+					: options.isLubyRestarts() ? options.getNodeBudget() * luby(attempt + 1) : options.getNodeBudget();
+			if (search(start, variant, target, budget)) {
+				return true;
+			} else if (!outOfBudget) {
+				// the whole tree was searched, so no order of the moves can find a tour
+				return false;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @param i a position in the Luby sequence, from 1
+	 * @return the ith term of 1, 1, 2, 1, 1, 2, 4, 1, 1, 2, 1, 1, 2, 4, 8, ...
+	 * @since 10/17/2026
+	 */
+	static long luby(int i) {
+		// the first 2^k - 1 terms end with 2^(k-1) and repeat the 2^(k-1) - 1 before it
+		int k = 1;
+		while ((1L << k) - 1 < i) {
+			k++;
+		}
+		return i == (1L << k) - 1 ? 1L << (k - 1) : luby(i - (int) ((1L << (k - 1)) - 1));
+	}
+
+	/**
+	 * the search itself, see search(int, Variant)
+	 * 
+	 * @param start the square to start from
+	 * @param variant the rules of the tour being searched for
+	 * @param target the number of squares the tour has to visit
+	 * @param budget the most squares to move to before giving up, see outOfBudget
+	 * @return true if a tour was found
+	 * @since 10/17/2026
+	 */
+	private boolean search(int start, Variant variant, int target, long budget) {
+		int blockSize = RANK_OFFSETS.length;
+		int floodFillInterval = options.getFloodFillInterval();
+		boolean backtracking = variant != Variant.OPEN || options.isBacktracking();
+		long limit = budget == Long.MAX_VALUE ? budget : stats.nodes + budget;
+		outOfBudget = false;
+
+		mark(start);
+		if (variant.prunes(this, start)) {
+			unmark(start);
+			return false;
+		}
+		stats.nodes++;
+		int depth = 0;
+		stack[0] = start;
+		stack[1] = order(start, 0);
+
+		while (!variant.completed(this)) {
+			int next = stack[2 * depth + 1];
+			int move = next < (depth + 1) * blockSize ? moveBuffer[next] : 0;
+
+			// the knight is stuck and may not back out, so give up on the whole tour
+			if (move == 0 && !backtracking) {
+				unwind(depth);
+				return false;
+			}
+
+			// every move from this square failed, so back out of it
+			if (move == 0) {
+				unmark(stack[2 * depth]);
+				stats.backtracks++;
+				if (depth == 0) {
+					return false;
+				}
+				depth--;
+				continue;
+			}
+
+			// try the next branch from the current square
+			stack[2 * depth + 1] = next + 1;
+			if (board[move] != 0) {
+				continue;
+			}
+			mark(move);
+			if (variant.prunes(this, move)) {
+				unmark(move);
+				continue;
+			}
+			if (pruning) {
+				int remaining = target - (steps - 1);
+				if (deadEnd(move, remaining)) {
+					stats.deadEndPrunes++;
+					unmark(move);
+					continue;
+				}
+				if (floodFillInterval > 0 && (depth + 1) % floodFillInterval == 0 && disconnected(move, remaining)) {
+					stats.floodFillPrunes++;
+					unmark(move);
+					continue;
+				}
+			}
+			stats.nodes++;
+			depth++;
+			stack[2 * depth] = move;
+			stack[2 * depth + 1] = order(move, depth);
+
+			// the search has wandered too long in this part of the tree, see restart()
+			if (stats.nodes > limit) {
+				unwind(depth);
+				outOfBudget = true;
+				return false;
+			}
+		}
+
+		for (int i = 0; i <= depth; i++) {
+			path.add(rankOf(stack[2 * i]), fileOf(stack[2 * i]));
+		}
+		return true;
+	}
+
+	/**
+	 * backs out of every square on the stack of the search, leaving the board empty
+	 * 
+	 * @param depth the number of steps taken before the last square on the stack
+	 * @since 10/17/2026
+	 */
+	private void unwind(int depth) {
+		for (; depth >= 0; depth--) {
+			unmark(stack[2 * depth]);
+		}
+	}
+
+	/**
+	 * orders the moves from a square into the block of the move buffer that belongs to
+	 * a step of the search, ending the block with 0 (a square in the margin) if it is
+	 * not full
+	 * 
+	 * @param square the square to find moves from
+	 * @param depth the number of steps taken before square
+	 * @return the index in the move buffer of the first move to try
+	 * @since 10/17/2026
+	 */
+	private int order(int square, int depth) {
+		int start = depth * RANK_OFFSETS.length;
+		int count = warnsdorffMoves(square, moveBuffer, start);
+		if (count < RANK_OFFSETS.length) {
+			moveBuffer[start + count] = 0;
+		}
+		return start;
+	}
+
+	/**
+	 * checks the corner formations of a structured tour (see structuredTour()) against
+	 * the squares visited so far
+	 * 
+	 * @return false if two squares that must be connected were both visited but not in
+	 * consecutive steps, true otherwise
+	 * @since 10/17/2026
+	 */
+	private boolean cornersConnected() {
+		for (int i = 0; i < cornerPairs.length; i += 2) {
+			int first = board[cornerPairs[i]];
+			int second = board[cornerPairs[i + 1]];
+			if (first != 0 && second != 0 && Math.abs(first - second) != 1) {
+				stats.cornerPrunes[i / 2]++;
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * solves the knight's tour problem using a simple backtracking algorithm,
+	 * solution is an open knight's tour
+	 * 
+	 * @param rank the rank that the knight is on
+	 * @param file the file that the knight is on
+	 * @since 10/19/2022
+	 * @author Evan Dreher
+	 */
+	public void tour(int rank, int file) {
+		solved = search(square(rank, file), Variant.OPEN);
+	}
+
+	/**
+	 * solves the knight's tour problem using a simple backtracking
+	 * algorithm in such a way that the tour will be "structured" as described by
+	 * Dr. Ian Parberry
+	 * 
+	 * A structured knight's tour has the following formation in each corner
+	 * 
+	 * 1 |A |X |
+	 * ---------
+	 * 2 |X |C |
+	 * ---------
+	 * B |1 |2 |
+	 * 
+	 * where the two 1s connect by a knight's move, the two 2s connect by a knight's move,
+	 * ABC connect by two knight's move in that order or the opposite order and the "B"
+	 * square is a corner, and the X's are arbitrary knight's moves. 
+	 * The formation here show the bottom left corner, but it is rotated
+	 * to fit other corners.
+	 * @param rank the ranks that the knight is on
+	 * @param file the file that the knight is on
+	 * @since 11/3/2022
+	 * @author Evan Dreher
+	 */
+	public void structuredTour(int rank, int file) {
+		solved = search(square(rank, file), Variant.STRUCTURED);
+	}
+
+	/**
+	 * completes a structured closed tour missing only the top left corner on a
+	 * board where both height and width are odd. see structureTour() for a description of
+	 * a structured knight's tour.
+	 * 
+	 * @param rank the current rank that the knight is on
+	 * @param file the current file that the knight is on
+	 * @since 11/5/2022
+	 * @author Evan Dreher
+	 */
+	public void oddTour(int rank, int file) {
+		solved = search(square(rank, file), Variant.ODD);
+	}
+
+	/**
+	 * encodes the path as its starting square followed by one byte per step holding the
+	 * index of the knight move taken, see findMoves() for the order of the moves
+	 * 
+	 * @return the path in compact form
+	 * @since 10/17/2026
+	 */
+	public byte[] compactPath() {
+		byte[] compact = new byte[Integer.BYTES + (int) Math.max(path.size() - 1, 0)];
+		if (path.isEmpty()) {
+			return compact;
+		}
+		int start = path.rank(0) * files + path.file(0);
+		for (int i = 0; i < Integer.BYTES; i++) {
+			compact[i] = (byte) (start >>> (8 * (Integer.BYTES - 1 - i)));
+		}
+
+		for (int i = 1; i < path.size(); i++) {
+			int rankOffset = path.rank(i) - path.rank(i - 1);
+			int fileOffset = path.file(i) - path.file(i - 1);
+			byte move = 0;
+			while (RANK_OFFSETS[move] != rankOffset || FILE_OFFSETS[move] != fileOffset) {
+				move++;
+			}
+			compact[Integer.BYTES + i - 1] = move;
+		}
+		return compact;
+	}
+
+	/**
+	 * replaces the board and path with a solved tour produced by compactPath() on a
+	 * board of the same size
+	 * 
+	 * @param compact the path in compact form
+	 * @since 10/17/2026
+	 */
+	public void restorePath(byte[] compact) {
+		int start = 0;
+		for (int i = 0; i < Integer.BYTES; i++) {
+			start = (start << 8) | (compact[i] & 0xFF);
+		}
+
+		prepareBoard();
+		path.clear();
+		steps = 1;
+		int square = square(start / files, start % files);
+		board[square] = steps;
+		steps++;
+		path.add(rankOf(square), fileOf(square));
+		for (int i = Integer.BYTES; i < compact.length; i++) {
+			square += moveOffsets[compact[i]];
+			board[square] = steps;
+			steps++;
+			path.add(rankOf(square), fileOf(square));
+		}
+		solved = true;
+	}
+
+	/**
+	 * an efficient algorithm for solving the knight's tours the recursivle splits
+	 * the board into smaller subproblems that can be solved and merged as described
+	 * by Dr. Ian Parberry.
+	 * 
+	 * @return a solved knight's tour, or this board left unsolved if it is too thin to
+	 *         split into quarters and is not a strip, see canSplit()
+	 * @since 11/6/2022
+	 * @author Christian Previtali
+	 * @author Evan Dreher
+	 */
+	public Tour DNCTour() {
+		long time = System.nanoTime();
+
 		// Base Cases
-		if (this.ranks < 10 && this.files < 10) {
-			solveBoard();
+		if (isBaseCase()) {
+			solveBaseCase();
+			stats.addLevel(level, System.nanoTime() - time);
 			return this;
+		}
+
+		// long thin boards would split into quarters too thin to have tours
+		if (isStrip(ranks, files)) {
+			Tour strip = stripTour();
+			strip.stats.addLevel(level, System.nanoTime() - time);
+			return strip;
+		}
+
+		// other thin boards have no quarters with tours of their own
+		if (!canSplit(ranks, files)) {
+			stats.addLevel(level, System.nanoTime() - time);
+			return this;
+		}
+
+		Tour[] k = quadrants();
+		for (int i = 0; i < k.length; i++) {
+			k[i] = k[i].DNCTour();
+		}
+		Tour joined = joinTours(k[0], k[1], k[2], k[3]);
+		joined.stats.addLevel(level, System.nanoTime() - time);
+		return joined;
+	}
+
+	/**
+	 * @return true if DNCTour() solves this board directly instead of splitting it
+	 * @since 11/6/2022
+	 * @author Christian Previtali
+	 * @author Evan Dreher
+	 */
+	private boolean isBaseCase() {
+		return isBaseCase(ranks, files);
+	}
+
+	/**
+	 * @param ranks the number of ranks on a board
+	 * @param files the number of files on a board
+	 * @return true if DNCTour() solves such a board directly instead of splitting it
+	 * @since 10/17/2026
+	 */
+	static boolean isBaseCase(int ranks, int files) {
+		return ranks < 10 && files < 10;
+	}
+
+	/**
+	 * solves a base case of DNCTour() with solveBoard(), reusing the tour from the
+	 * shared TourCache if this shape of board or its transpose was solved before, or
+	 * from the TilePack if it was solved ahead of time
+	 * 
+	 * Both only hold tours found by the default search, so they are left alone when the
+	 * options ask for another one, see restoresBaseCases(). Every base case is then
+	 * searched, and what it finds is not cached.
+	 * 
+	 * Only the wide orientation of a shape is searched and cached, the tall one is its
+	 * transpose. Searching a base case wide is never much slower, and often thousands of
+	 * times quicker: 5 x 9 takes a few hundred nodes where 9 x 5 takes millions. The
+	 * longer tiles of stripTour() are the other way round, so they are searched as they
+	 * come.
+	 * 
+	 * @since 10/17/2026
+	 */
+	void solveBaseCase() {
+		TourEvents.BaseCase event = new TourEvents.BaseCase();
+		event.begin();
+
+		boolean odd = ranks % 2 == 1 && files % 2 == 1;
+		boolean restores = restoresBaseCases();
+		byte[] cached = restores ? TourCache.shared().get(ranks, files, odd) : null;
+		byte[] packed = restores && options.isTilePack() && cached == null ? TilePack.shared().get(ranks, files, odd)
+				: null;
+		stats.baseCases++;
+		if (cached != null) {
+			restorePath(cached);
+			stats.cacheHits++;
+		} else if (packed != null) {
+			restorePath(packed);
+			stats.packHits++;
+		} else if (ranks > files && isBaseCase()) {
+			Tour wide = new Tour(files, ranks);
+			wide.options = options;
+			wide.solveBoard();
+			stats.add(wide.stats);
+			if (wide.solved) {
+				byte[] compact = wide.compactPath();
+				if (restores) {
+					TourCache.shared().put(files, ranks, odd, compact);
+				}
+				restorePath(TourCache.transpose(compact, files, ranks));
+			}
 		} else {
-			if (this.ranks % 2 != 0 && this.files % 2 != 0) {
-				rank2 = ((ranks - 1) / 2) + 1;
-				rank1 = (ranks - 1) / 2;
-				file2 = ((files - 1) / 2) + 1;
-				file1 = (files - 1) / 2;
-				if (rank1 % 2 != 0) {
-					int temp = rank1;
-					rank1 = rank2;
-					rank2 = temp;
-					temp = file1;
-					file1 = file2;
-					file2 = temp;
+			solveBoard();
+			if (solved && restores) {
+				TourCache.shared().put(ranks, files, odd, compactPath());
+			}
+		}
+
+		event.end();
+		if (event.shouldCommit()) {
+			event.ranks = ranks;
+			event.files = files;
+			event.odd = odd;
+			event.cached = cached != null;
+			event.packed = packed != null;
+			event.solved = solved;
+			event.nodes = stats.nodes;
+			event.backtracks = stats.backtracks;
+			event.restarts = stats.restarts;
+			event.commit();
+		}
+	}
+
+	/**
+	 * @return true if solveBaseCase() may restore tours from the TourCache and TilePack,
+	 *         which only hold tours of the default search. The TilePack is also left
+	 *         alone while SolverOptions.isTilePack() is false.
+	 * @since 10/17/2026
+	 */
+	private boolean restoresBaseCases() {
+		return options.isBitboard() && !options.isPruning()
+				&& options.getTieBreaker() == TieBreaker.NONE && options.getNodeBudget() == 0;
+	}
+
+	/**
+	 * splits the board into the four unsolved sub-boards that DNCTour() merges with
+	 * joinTours(). The sub-boards share this board's options and sit one level deeper.
+	 * 
+	 * @return the top left, top right, bottom right and bottom left sub-boards
+	 * @since 11/6/2022
+	 * @author Christian Previtali
+	 * @author Evan Dreher
+	 */
+	private Tour[] quadrants() {
+		int[][] sizes = split(ranks, files);
+		Tour[] k = new Tour[sizes.length];
+		for (int i = 0; i < k.length; i++) {
+			k[i] = new Tour(sizes[i][0], sizes[i][1]);
+			k[i].options = options;
+			k[i].level = level + 1;
+		}
+		return k;
+	}
+
+	/**
+	 * @param ranks the number of ranks on a board
+	 * @param files the number of files on a board
+	 * @return true if split() can cut such a board into quarters of at least MIN_QUARTER
+	 *         squares a side
+	 * @since 10/17/2026
+	 */
+	static boolean canSplit(int ranks, int files) {
+		return ranks >= 2 * MIN_QUARTER && files >= 2 * MIN_QUARTER;
+	}
+
+	/**
+	 * decides how DNCTour() splits a board into four sub-boards
+	 * 
+	 * @param ranks the number of ranks on the board
+	 * @param files the number of files on the board
+	 * @return the ranks and files of the top left, top right, bottom right and bottom left
+	 * sub-boards
+	 * @throws IllegalArgumentException if a sub-board would be narrower than MIN_QUARTER,
+	 * too small to have a tour of its own
+	 * @since 11/6/2022
+	 * @author Christian Previtali
+	 * @author Evan Dreher
+	 */
+	static int[][] split(int ranks, int files) {
+		if (!canSplit(ranks, files)) {
+			throw new IllegalArgumentException(
+					ranks + " x " + files + " cannot be split into quarters of at least " + MIN_QUARTER + " squares a side");
+		}
+		int file1 = 0;
+		int file2 = 0;
+		int rank1 = 0;
+		int rank2 = 0;
+		if (ranks % 2 != 0 && files % 2 != 0) {
+			rank2 = ((ranks - 1) / 2) + 1;
+			rank1 = (ranks - 1) / 2;
+			file2 = ((files - 1) / 2) + 1;
+			file1 = (files - 1) / 2;
+			if (rank1 % 2 != 0) {
+				int temp = rank1;
+				rank1 = rank2;
+				rank2 = temp;
+				temp = file1;
+				file1 = file2;
+				file2 = temp;
+			}
+		} else if (ranks % 2 != 0) {
+			rank1 = ((ranks - 1) / 2) + 1;
+			rank2 = (ranks - 1) / 2;
+			file1 = (files) / 2;
+			file2 = (files) / 2;
+		} else if (files % 2 != 0) {
+			file1 = ((files - 1) / 2) + 1;
+			file2 = (files - 1) / 2;
+			rank1 = (ranks) / 2;
+			rank2 = (ranks) / 2;
+		} else {
+			file1 = (files) / 2;
+			file2 = (files) / 2;
+			rank1 = (ranks) / 2;
+			rank2 = (ranks) / 2;
+		}
+
+		return new int[][] { { rank2, file2 }, { rank2, file1 }, { rank1, file1 }, { rank1, file2 } };
+	}
+
+	/**
+	 * @param ranks the number of ranks on a board
+	 * @param files the number of files on a board
+	 * @return true if DNCTour() solves such a board as a strip of tiles, see stripTour()
+	 * @since 10/17/2026
+	 */
+	static boolean isStrip(int ranks, int files) {
+		int across = Math.min(ranks, files);
+		int along = Math.max(ranks, files);
+		return across >= 5 && along >= STRIP_ASPECT * across && (ranks % 2 == 0 || files % 2 == 0)
+				&& stripWidths(along, across) != null;
+	}
+
+	/**
+	 * decides how stripTour() cuts a strip into tiles. Every tile is between 6 and 9
+	 * squares wide and has an even number of squares, so it has a closed tour, and the
+	 * widths differ by at most one tile step.
+	 * 
+	 * @param along the length of the strip
+	 * @param across the width of the strip, which every tile keeps
+	 * @return the length of each tile in order, or null if the strip cannot be cut into
+	 *         at least two such tiles
+	 * @since 10/17/2026
+	 */
+	static int[] stripWidths(int along, int across) {
+		// tiles across an odd strip need an even length
+		int unit = across % 2 == 0 ? 1 : 2;
+		if (along % unit != 0) {
+			return null;
+		}
+		int units = along / unit;
+		int maxUnits = MAX_TILE / unit;
+		int minUnits = (MIN_TILE + unit - 1) / unit;
+		int count = (units + maxUnits - 1) / maxUnits;
+		if (count < 2 || units / count < minUnits) {
+			return null;
+		}
+		int[] widths = new int[count];
+		for (int i = 0; i < count; i++) {
+			widths[i] = (units / count + (i < units % count ? 1 : 0)) * unit;
+		}
+		return widths;
+	}
+
+	/**
+	 * solves a long thin board by cutting it across its length into a row of tiles 6 to 9
+	 * squares long and joining their closed tours one after another with joinStrip().
+	 * Tiles of the same length share one solved tour. Tiles no more than 11 squares across
+	 * are solved like base cases, and wider tiles are thin the other way, so they are
+	 * solved as strips themselves. The board costs time in proportion to its squares and
+	 * the recursion never goes deeper than a strip of strips.
+	 * 
+	 * Tiles are always solved lying with their length along the files, where
+	 * structuredTour() is quick for every tile shape, and transposed for strips that run
+	 * down the ranks.
+	 * 
+	 * @return the solved board, a closed tour if every tile was solved
+	 * @since 10/17/2026
+	 */
+	private Tour stripTour() {
+		boolean vertical = ranks > files;
+		int across = vertical ? files : ranks;
+		int[] widths = stripWidths(vertical ? ranks : files, across);
+
+		Tour bigger = new Tour(ranks, files);
+		bigger.options = options;
+		bigger.level = level;
+		TourPath[] solvedTiles = new TourPath[MAX_TILE + 1];
+		TourPath[] tiles = new TourPath[widths.length];
+		boolean solvedAll = true;
+		for (int i = 0; i < widths.length; i++) {
+			if (solvedTiles[widths[i]] == null) {
+				Tour tile = new Tour(across, widths[i]);
+				tile.options = options;
+				tile.level = level + 1;
+				if (across <= MAX_TILE_LENGTH) {
+					tile.solveBaseCase();
+				} else {
+					tile = tile.stripTour();
+				}
+				bigger.stats.add(tile.stats);
+				// joinStrip() walks every tile as a cycle
+				solvedAll = solvedAll && tile.isClosed();
+				solvedTiles[widths[i]] = vertical ? tile.path.transpose() : tile.path;
+			}
+			tiles[i] = solvedTiles[widths[i]];
+		}
+		if (!solvedAll) {
+			return bigger;
+		}
+
+		long time = System.nanoTime();
+		TourPath[] parts = stripParts(tiles, vertical);
+		bigger.path = TourPath.concat(ranks, files, parts);
+		bigger.solved = bigger.path.size() == bigger.length - 1 && joinsByKnightMoves(parts);
+		bigger.stats.joins += tiles.length - 1;
+		bigger.stats.joinNanos += System.nanoTime() - time;
+		return bigger;
+	}
+
+	/**
+	 * joins the closed tours of a row of tiles into one closed tour. At each seam one move
+	 * near the far edge of the left tile and one near the near edge of the right tile are
+	 * swapped for two knight moves across the seam, found by trying the moves between
+	 * squares in the two files (or ranks) either side of it. The knight then runs out
+	 * through every tile to the last and back through the rest of each on its way home.
+	 * 
+	 * The tours are only viewed, never changed, and the joined path is composed of two
+	 * slices of every tile but the first and last.
+	 * 
+	 * @param ranks the number of ranks on the whole board
+	 * @param files the number of files on the whole board
+	 * @param tiles the closed tours of the tiles in order, the same tour may appear more
+	 *              than once
+	 * @param vertical true if the tiles are stacked rank after rank, false if they are
+	 *                 side by side
+	 * @return the path of the joined tour
+	 * @throws NoSuchElementException if no pair of moves joins two of the tiles
+	 * @since 10/17/2026
+	 */
+	static TourPath joinStrip(int ranks, int files, TourPath[] tiles, boolean vertical) {
+		return TourPath.concat(ranks, files, stripParts(tiles, vertical));
+	}
+
+	/**
+	 * the work of joinStrip() up to composing the path
+	 * 
+	 * @param tiles the closed tours of the tiles in order
+	 * @param vertical true if the tiles are stacked rank after rank
+	 * @return the arcs of the tiles in the order the joined tour visits them, already
+	 *         moved into place on the whole board
+	 * @throws NoSuchElementException if no pair of moves joins two of the tiles
+	 * @since 10/17/2026
+	 */
+	private static TourPath[] stripParts(TourPath[] tiles, boolean vertical) {
+		int count = tiles.length;
+		TourPath[] views = new TourPath[count];
+		// steps on each view where the knight enters it, leaves it for the next tile,
+		// comes back from the next tile and goes home to the one before
+		long[] entry = new long[count];
+		long[] out = new long[count];
+		long[] back = new long[count];
+		long[] home = new long[count];
+		views[0] = tiles[0].view();
+		for (int i = 0; i + 1 < count; i++) {
+			views[i + 1] = tiles[i + 1].view();
+			long[] seam = seam(views[i], views[i + 1], vertical);
+			if (seam == null) {
+				throw new NoSuchElementException("no pair of moves joins tile " + i + " to the next");
+			}
+			out[i] = seam[0];
+			back[i] = seam[1];
+			entry[i + 1] = seam[2];
+			home[i + 1] = seam[3];
+		}
+
+		// out from the first tile through every tile to the end of the last, then home
+		// through the other half of every tile in between
+		TourPath[] parts = new TourPath[2 * count - 2];
+		int[] offsets = new int[count];
+		for (int i = 1; i < count; i++) {
+			offsets[i] = offsets[i - 1] + (vertical ? views[i - 1].getRanks() : views[i - 1].getFiles());
+		}
+		parts[0] = arc(views[0], back[0], out[0], vertical, offsets[0]);
+		for (int i = 1; i < count - 1; i++) {
+			parts[i] = arc(views[i], entry[i], out[i], vertical, offsets[i]);
+			parts[2 * count - 2 - i] = arc(views[i], back[i], home[i], vertical, offsets[i]);
+		}
+		parts[count - 1] = arc(views[count - 1], entry[count - 1], home[count - 1], vertical, offsets[count - 1]);
+		return parts;
+	}
+
+	/**
+	 * looks for a move near the far edge of one tile and a move near the near edge of the
+	 * next that can be swapped for two knight moves across the seam between them. The
+	 * next tile is reversed if it has to be walked the other way.
+	 * 
+	 * @param left a view of the closed tour of the first tile, walked in the direction it
+	 *             will be joined in
+	 * @param right a view of the closed tour of the next tile
+	 * @param vertical true if the next tile lies below the first, false if to its right
+	 * @return the steps on left of the square the knight leaves it from and the square it
+	 *         comes back to, then the steps on right of the square it enters it on and the
+	 *         square it leaves it from, or null if there is no such pair of moves
+	 * @since 10/17/2026
+	 */
+	private static long[] seam(TourPath left, TourPath right, boolean vertical) {
+		int ranks = left.getRanks();
+		int files = left.getFiles();
+		int across = vertical ? files : ranks;
+		int rankShift = vertical ? ranks : 0;
+		int fileShift = vertical ? 0 : files;
+		for (int a = 0; a < across; a++) {
+			for (int depth = 1; depth <= 2; depth++) {
+				int rank = vertical ? ranks - depth : a;
+				int file = vertical ? a : files - depth;
+
+				// a move of the left tour between two squares next to the seam
+				long from = left.find(rank, file);
+				long to = (from + 1) % left.size();
+				long square = left.squareAt(to);
+				int toRank = (int) (square >>> 32);
+				int toFile = (int) square;
+				if ((vertical ? ranks - toRank : files - toFile) > 2) {
+					continue;
+				}
+
+				for (int i = 0; i < RANK_OFFSETS.length; i++) {
+					// a square of the right tile next to the seam that from can move to
+					int enterRank = rank + RANK_OFFSETS[i] - rankShift;
+					int enterFile = file + FILE_OFFSETS[i] - fileShift;
+					if (enterRank < 0 || enterRank >= right.getRanks() || enterFile < 0 || enterFile >= right.getFiles()
+							|| (vertical ? enterRank : enterFile) > 1) {
+						continue;
+					}
+					long enter = right.find(enterRank, enterFile);
+					for (long leave : new long[] { enter - 1, enter + 1 }) {
+						long other = right.squareAt(Math.floorMod(leave, right.size()));
+						int leaveRank = (int) (other >>> 32);
+						int leaveFile = (int) other;
+						if ((vertical ? leaveRank : leaveFile) > 1 || !isKnightMove(leaveRank + rankShift,
+								leaveFile + fileShift, toRank, toFile)) {
+							continue;
+						}
+
+						// the right tour is walked from enter round to the square before it
+						if (leave > enter) {
+							right.reverse();
+						}
+						return new long[] { from, to, right.find(enterRank, enterFile), right.find(leaveRank, leaveFile) };
+					}
 				}
-			} else if (ranks % 2 != 0) {
-				rank1 = ((ranks - 1) / 2) + 1;
-				rank2 = (ranks - 1) / 2;
-				file1 = (files) / 2;
-				file2 = (files) / 2;
-			} else if (files % 2 != 0) {
-				file1 = ((files - 1) / 2) + 1;
-				file2 = (files - 1) / 2;
-				rank1 = (ranks) / 2;
-				rank2 = (ranks) / 2;
-			} else {
-				file1 = (files) / 2;
-				file2 = (files) / 2;
-				rank1 = (ranks) / 2;
-				rank2 = (ranks) / 2;
 			}
+		}
+		return null;
+	}
 
-			Tour k1 = new Tour(rank2, file2);
-			Tour k2 = new Tour(rank2, file1);
-			Tour k3 = new Tour(rank1, file1);
-			Tour k4 = new Tour(rank1, file2);
-			k1 = k1.DNCTour();
-			k2 = k2.DNCTour();
-			k3 = k3.DNCTour();
-			k4 = k4.DNCTour();
-			kt = joinTours(k1, k2, k3, k4);
+	/**
+	 * @return true if a knight can move from the first square to the second
+	 * @since 10/17/2026
+	 */
+	private static boolean isKnightMove(int fromRank, int fromFile, int toRank, int toFile) {
+		int rankOffset = Math.abs(toRank - fromRank);
+		int fileOffset = Math.abs(toFile - fromFile);
+		return (rankOffset == 1 && fileOffset == 2) || (rankOffset == 2 && fileOffset == 1);
+	}
+
+	/**
+	 * checks the seams of a joined path, the only steps a join adds. The steps inside each
+	 * part were checked when the tour it was cut from was solved, so a joined tour of
+	 * solved parts that covers its board is a knight's tour once its seams are.
+	 * 
+	 * @param parts the parts of a joined path in order, see TourPath.concat()
+	 * @return true if the knight can move from the last square of every part to the
+	 *         first square of the next one that is not empty
+	 * @since 10/17/2026
+	 */
+	private static boolean joinsByKnightMoves(TourPath[] parts) {
+		TourPath last = null;
+		for (TourPath part : parts) {
+			if (part.isEmpty()) {
+				continue;
+			}
+			if (last != null && !isKnightMove(last.rank(last.size() - 1), last.file(last.size() - 1), part.rank(0),
+					part.file(0))) {
+				return false;
+			}
+			last = part;
 		}
-		return kt;
+		return true;
+	}
+
+	/**
+	 * @param view a view of a closed tour
+	 * @param from the step of the first square of the arc
+	 * @param to the step of the last square of the arc, reached walking forwards
+	 * @param vertical true to move the arc down, false to move it right
+	 * @param offset the number of ranks or files to move the arc by
+	 * @return the arc of the tour, moved into place on the joined board
+	 * @since 10/17/2026
+	 */
+	private static TourPath arc(TourPath view, long from, long to, boolean vertical, int offset) {
+		TourPath arc = view.slice(from, Math.floorMod(to - from, view.size()) + 1);
+		arc.translate(vertical ? offset : 0, vertical ? 0 : offset);
+		return arc;
+	}
+
+	/**
+	 * runs DNCTour() on a fork/join pool, solving the four quadrants of each board as
+	 * separate tasks until the boards are smaller than the sequential cutoff of the
+	 * options
+	 * 
+	 * @since 10/17/2026
+	 */
+	private static class DNCTask extends RecursiveTask<Tour> {
+		private static final long serialVersionUID = 1L;
+
+		private final Tour tour;
+
+		/**
+		 * @param tour the board to solve
+		 * @since 10/17/2026
+		 */
+		DNCTask(Tour tour) {
+			this.tour = tour;
+		}
+
+		/**
+		 * @return the solved knight's tour
+		 * @since 10/17/2026
+		 */
+		@Override
+		protected Tour compute() {
+			if (tour.isBaseCase() || isStrip(tour.ranks, tour.files) || !canSplit(tour.ranks, tour.files)
+					|| tour.length - 1 < tour.options.getSequentialCutoff()) {
+				return tour.DNCTour();
+			}
+
+			Tour[] k = tour.quadrants();
+			DNCTask[] tasks = new DNCTask[k.length];
+			for (int i = 0; i < k.length; i++) {
+				tasks[i] = new DNCTask(k[i]);
+			}
+			long time = System.nanoTime();
+			invokeAll(tasks);
+			Tour joined = joinTours(tasks[0].join(), tasks[1].join(), tasks[2].join(), tasks[3].join());
+			joined.stats.addLevel(tour.level, System.nanoTime() - time);
+			return joined;
+		}
+	}
+
+	/**
+	 * determines if a path moves straight from one square to another, treating it as a
+	 * closed cycle so the last step is followed by the first
+	 * 
+	 * @param path the path of a tour
+	 * @param fromRank the rank of the square the knight moves from
+	 * @param fromFile the file of the square the knight moves from
+	 * @param toRank the rank of the square the knight moves to
+	 * @param toFile the file of the square the knight moves to
+	 * @return true if the second square comes one step after the first
+	 * @throws NoSuchElementException if the path is empty
+	 * @since 10/17/2026
+	 */
+	private static boolean visitsNext(TourPath path, int fromRank, int fromFile, int toRank, int toFile) {
+		if (path.isEmpty()) {
+			throw new NoSuchElementException("tour has no path");
+		}
+		return path.find(toRank, toFile) == (path.find(fromRank, fromFile) + 1) % path.size();
 	}
 
 	/**
@@ -587,123 +1830,192 @@ public class Tour {
 	 * @author Evan Dreher
 	 */
 	public static Tour joinTours(Tour t1, Tour t2, Tour t3, Tour t4) {
+		TourEvents.Join event = new TourEvents.Join();
+		event.begin();
+		long time = System.nanoTime();
+
 		// create new board the size of all params combined
-		int mergedFiles = t1.files + t2.files;
-		int mergedRanks = t1.ranks + t3.ranks;
-		Tour bigger = new Tour(mergedRanks, mergedFiles);
+		Tour bigger = new Tour(t1.ranks + t3.ranks, t1.files + t2.files);
+		bigger.level = Math.max(t1.level - 1, 0);
+		TourPath[] parts = joinParts(t1.path, t2.path, t3.path, t4.path);
+		bigger.path = TourPath.concat(bigger.ranks, bigger.files, parts);
+		// merged boards are solved when every quarter was a closed tour, or an odd tour for
+		// the top left, the join covered the board and every seam is a knight move. The
+		// join walks each quarter as a cycle, so an open quarter would leave a gap inside.
+		boolean odd = t1.solved && t1.path.size() == t1.length - 2;
+		bigger.solved = (odd || t1.isClosed()) && t2.isClosed() && t3.isClosed() && t4.isClosed()
+				&& bigger.path.size() == bigger.length - 1 && joinsByKnightMoves(parts);
+
+		// the merged board carries the work of its quarters
+		for (Tour t : new Tour[] { t1, t2, t3, t4 }) {
+			bigger.stats.add(t.stats);
+		}
+		bigger.stats.joins++;
+		bigger.stats.joinNanos += System.nanoTime() - time;
+
+		event.end();
+		if (event.shouldCommit()) {
+			event.ranks = bigger.ranks;
+			event.files = bigger.files;
+			event.level = bigger.level;
+			event.commit();
+		}
+		return bigger;
+	}
+
+	/**
+	 * the work of joinTours() on the paths of the four tours alone. The paths are only
+	 * viewed, never changed, so the same path can be joined into several larger ones.
+	 * 
+	 * @param t1 the path of the top left tour
+	 * @param t2 the path of the top right tour
+	 * @param t3 the path of the bottom right tour
+	 * @param t4 the path of the bottom left tour
+	 * @return the path of the combined knight's tour
+	 * @since 11/5/2022
+	 * @author Evan Dreher
+	 */
+	static TourPath joinPaths(TourPath t1, TourPath t2, TourPath t3, TourPath t4) {
+		return TourPath.concat(t1.getRanks() + t3.getRanks(), t1.getFiles() + t2.getFiles(),
+				joinParts(t1, t2, t3, t4));
+	}
+
+	/**
+	 * the work of joinPaths() up to composing the path
+	 * 
+	 * @return the pieces of the four tours in the order the combined tour visits them,
+	 *         already moved into place on the combined board
+	 * @since 10/17/2026
+	 */
+	private static TourPath[] joinParts(TourPath t1, TourPath t2, TourPath t3, TourPath t4) {
+		int ranks1 = t1.getRanks();
+		int files1 = t1.getFiles();
+		int ranks2 = t2.getRanks();
+		int files4 = t4.getFiles();
 
 		// partially fill in top left
+		TourPath p1 = t1.view();
+
+		// walk backwards through t1 so the exit square is followed by its structured partner
+		if (visitsNext(t1, ranks1 - 2, files1 - 1, ranks1 - 1, files1 - 3)) {
+			p1.reverse();
+		}
 
 		// build path until we get to exit square
-		t1.path.add(t1.path.remove());
+		p1.rotateTo(1);
 
 		// reorder array if its an odd board
-		if (t1.ranks % 2 == 1 && t1.files % 2 == 1) {
-			while (!(t1.path.get(0).getX() == 2 && t1.path.get(0).getY() == 1)) {
-				t1.path.add(t1.path.remove());
-			}
-			t1.path.add(t1.path.remove());
+		if (ranks1 % 2 == 1 && files1 % 2 == 1) {
+			p1.rotateTo(p1.find(2, 1) + 1);
 		}
+		p1.reverse();
+		p1.rotateTo(1);
+		long exit = p1.find(ranks1 - 2, files1 - 1);
 
-		Move current = t1.path.removeLast();
-		while (current.getX() != t1.ranks - 2 || current.getY() != t1.files - 1) {
-			bigger.path.add(current);
-			current = t1.path.removeLast();
+		// fill in top left corner if there was an oddboard in the board
+		TourPath corner = new TourPath(1, 1);
+		if (p1.find(0, 0) != 0) {
+			corner.add(0, 0);
 		}
-		bigger.path.add(current);
 
 		// fill in top right
 
 		// reorder list so entry square is in front
-		while (t2.path.get(0).getX() != t2.ranks - 3 || t2.path.get(0).getY() != 1) {
-			t2.path.add(t2.path.remove());
-		}
+		TourPath p2 = t2.view();
+		p2.rotateTo(p2.find(ranks2 - 3, 1));
 
 		// add path to larger board
-		if (t2.board[t2.ranks - 3][1] < t2.board[t2.ranks - 1][0]) {
-			t2.path.add(t2.path.remove());
-			while (t2.path.size() > 0) {
-				current = t2.path.removeLast();
-				current.setY(current.getY() + t1.files);
-				bigger.path.add(current);
-			}
-		} else {
-			while (t2.path.size() > 0) {
-				current = t2.path.remove();
-				current.setY(current.getY() + t1.files);
-				bigger.path.add(current);
-			}
+		if (visitsNext(t2, ranks2 - 3, 1, ranks2 - 1, 0)) {
+			p2.reverse();
 		}
+		p2.translate(0, files1);
 
 		// fill in bottom right
 
 		// reorder list so entry square is in front
-		while (t3.path.get(0).getX() != 0 || t3.path.get(0).getY() != 2) {
-			t3.path.add(t3.path.remove());
-		}
+		TourPath p3 = t3.view();
+		p3.rotateTo(p3.find(0, 2));
 
 		// add path to larger board
-		if (t3.board[0][2] > t3.board[1][0]) {
-			while (t3.path.size() > 0) {
-				current = t3.path.remove();
-				current.setY(current.getY() + t1.files);
-				current.setX(current.getX() + t1.ranks);
-				bigger.path.add(current);
-			}
-		} else {
-			t3.path.add(t3.path.remove());
-			while (t3.path.size() > 0) {
-				current = t3.path.removeLast();
-				current.setY(current.getY() + t1.files);
-				current.setX(current.getX() + t1.ranks);
-				bigger.path.add(current);
-			}
+		if (!visitsNext(t3, 1, 0, 0, 2)) {
+			p3.reverse();
 		}
-		
+		p3.translate(ranks1, files1);
+
 		// fill in bottom left
-		
+
 		// reorder path so entry square is at front
-		while (t4.path.get(0).getX() != 2 || t4.path.get(0).getY() != t4.files - 2) {
-			t4.path.add(t4.path.remove());
-		}
-		
+		TourPath p4 = t4.view();
+		p4.rotateTo(p4.find(2, files4 - 2));
+
 		// add path to larger board
-		if (t4.board[2][t4.files - 2] > t4.board[0][t4.files - 1]) {
-			while (t4.path.size() > 0) {
-				current = t4.path.remove();
-				current.setX(current.getX() + t1.ranks);
-				bigger.path.add(current);
+		if (!visitsNext(t4, 0, files4 - 1, 2, files4 - 2)) {
+			p4.reverse();
+		}
+		p4.translate(ranks1, 0);
+
+		// stitch the pieces together, the remaining top left comes last. Nothing is copied
+		// until the merged board or path is read.
+		return new TourPath[] { corner, p1.slice(0, exit + 1), p2, p3, p4, p1.slice(exit + 1, p1.size() - exit - 1) };
+	}
+
+	/**
+	 * streams the path to a channel in the order the knight visits the squares, without
+	 * building the board or copying the path, see TourEmitter
+	 * 
+	 * @param channel where to write the tour, it is left open
+	 * @param encoding how to write the squares
+	 * @throws IOException if the channel cannot be written to
+	 * @since 10/17/2026
+	 */
+	public void writeTo(WritableByteChannel channel, TourEmitter.Encoding encoding) throws IOException {
+		new TourEmitter(encoding).write(path, channel);
+	}
+
+	/**
+	 * numbers the squares of a board store in the order the path visits them, without
+	 * building the board or copying the path. This is how boards too large for the heap
+	 * are numbered, see MappedBoardStore.
+	 * 
+	 * @param store a store for a board of the same size
+	 * @throws IllegalArgumentException if the store is for a board of another size
+	 * @since 10/17/2026
+	 */
+	public void writeTo(BoardStore store) {
+		store.fill(path);
+	}
+
+	/**
+	 * numbers the board from the path if that has not been done yet and gives read only
+	 * access to it, for example to render it with TourRenderer
+	 * 
+	 * @return the step numbers of the board
+	 * @since 10/17/2026
+	 */
+	public BoardStore getBoard() {
+		materialize();
+		return new BoardStore() {
+			@Override
+			public int getRanks() {
+				return ranks;
 			}
-		} else {
-			t4.path.add(t4.path.remove());
-			while (t4.path.size() > 0) {
-				current = t4.path.removeLast();
-				current.setX(current.getX() + t1.ranks);
-				bigger.path.add(current);
+
+			@Override
+			public int getFiles() {
+				return files;
 			}
-		}
-		
-		// fill in remaining top left
-		while(t1.path.size() > 0) {
-			bigger.path.add(t1.path.removeLast());
-		}
-		
-		// fill in top left corner if there was an oddboard in the board
-		if(bigger.path.get(0).getX() != 0 || bigger.path.get(0).getY() != 0) {
-			bigger.path.addFirst(new Move(0, 0));
-		}
-	
-		// print out steps based on path
-		ListIterator<Move> it = bigger.path.listIterator(0);
-		int count = 1;
-		while (it.hasNext()) {
-			Move toAdd = it.next();
-			bigger.board[toAdd.getX()][toAdd.getY()] = count;
-			count++;
-		}
-		return bigger;
+
+			@Override
+			public long get(int rank, int file) {
+				return board[square(rank, file)];
+			}
+
+			@Override
+			public void set(int rank, int file, long step) {
+				throw new UnsupportedOperationException("the board of a tour is read only");
+			}
+		};
 	}
-	
 
 	/**
 	 * @return a string representation of the board
@@ -712,19 +2024,13 @@ public class Tour {
 	 */
 	@Override
 	public String toString() {
-		String ts = "Sixe: " + ranks + " x " + files + "\nRuntime: " + runtime + "\nPath:\n";
-		int maxDigits = Integer.toString(board[0].length * board.length).length() + 1;
-		for (int[] ia : board) {
-			for (int i : ia) {
-				int iDigits = Integer.toString(i).length();
-				String intStr = "|" + i;
-				for (int j = iDigits; j <= maxDigits; j++) {
-					intStr += " ";
-				}
-				ts += intStr;
-			}
-			ts += "|\n";
+		StringBuilder ts = new StringBuilder("Sixe: " + ranks + " x " + files + "\nRuntime: " + runtime + "\nPath:\n");
+		try {
+			new TourRenderer(TourRenderer.Format.GRID).render(getBoard(), ts);
+		} catch (IOException e) {
+			// a StringBuilder never throws
+			throw new UncheckedIOException(e);
 		}
-		return ts;
+		return ts.toString();
 	}
 }
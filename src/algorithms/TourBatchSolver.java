@@ -0,0 +1,254 @@
+package algorithms;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * solves many boards at once on a bounded pool of threads, one per core by default, and
+ * hands back each tour as soon as it is solved. Solving is all computation, so the
+ * number of threads running searches never goes beyond the pool's, however many boards
+ * are queued.
+ *
+ * @since 10/17/2026
+ */
+public class TourBatchSolver implements AutoCloseable {
+	private final ExecutorService pool;
+
+	/**
+	 * creates a solver with a thread for every available processor
+	 *
+	 * @since 10/17/2026
+	 */
+	public TourBatchSolver() {
+		this(Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * creates a solver
+	 *
+	 * @param threads the most boards solved at the same time
+	 * @since 10/17/2026
+	 */
+	public TourBatchSolver(int threads) {
+		AtomicInteger count = new AtomicInteger();
+		ThreadFactory factory = task -> {
+			Thread thread = new Thread(task, "tour-solver-" + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+		pool = Executors.newFixedThreadPool(threads, factory);
+	}
+
+	/**
+	 * queues a board of every shape to be solved
+	 *
+	 * @param shapes the ranks and files of each board
+	 * @param options how to solve every board, see Tour.start(). They are shared by all
+	 *                the boards, so they should not name a board store.
+	 * @return the batch, which hands back the results in the order they finish
+	 * @since 10/17/2026
+	 */
+	public Batch solve(int[][] shapes, SolverOptions options) {
+		Batch batch = new Batch(shapes);
+		for (int i = 0; i < shapes.length; i++) {
+			int index = i;
+			int ranks = shapes[i][0];
+			int files = shapes[i][1];
+			batch.tasks.add(pool.submit(() -> {
+				if (!batch.claim(index)) {
+					// cancel() got here first and posted the result
+					return;
+				}
+				Tour tour = null;
+				try {
+					tour = new Tour(ranks, files);
+					tour.start(options);
+					batch.results.add(new Result(index, ranks, files, tour, null));
+				} catch (RuntimeException | Error e) {
+					// the result has to arrive whatever happens or take() would wait forever
+					batch.results.add(new Result(index, ranks, files, tour, e));
+				}
+			}));
+		}
+		return batch;
+	}
+
+	/**
+	 * stops the threads once every queued board is solved
+	 *
+	 * @since 10/17/2026
+	 */
+	@Override
+	public void close() {
+		pool.shutdown();
+	}
+
+	/**
+	 * the boards queued by one call to solve()
+	 *
+	 * @since 10/17/2026
+	 */
+	public static class Batch {
+		private final int size;
+		private final int[][] shapes;
+		private final List<Future<?>> tasks;
+		private final LinkedBlockingQueue<Result> results;
+		// 1 for every board that was started or cancelled, so exactly one result is posted
+		private final AtomicIntegerArray claimed;
+		private int taken;
+
+		/**
+		 * @param shapes the ranks and files of each board in the batch
+		 * @since 10/17/2026
+		 */
+		Batch(int[][] shapes) {
+			this.shapes = shapes;
+			size = shapes.length;
+			tasks = new ArrayList<>(size);
+			results = new LinkedBlockingQueue<>();
+			claimed = new AtomicIntegerArray(size);
+			taken = 0;
+		}
+
+		/**
+		 * @param index the position of a board in the batch
+		 * @return true if the caller is the first to start or cancel the board, and so
+		 *         has to post its result
+		 * @since 10/17/2026
+		 */
+		private boolean claim(int index) {
+			return claimed.compareAndSet(index, 0, 1);
+		}
+
+		/**
+		 * @return the number of results not yet taken
+		 * @since 10/17/2026
+		 */
+		public int remaining() {
+			return size - taken;
+		}
+
+		/**
+		 * waits for the next board to finish
+		 *
+		 * @return the result of the board that finished first among those not yet taken,
+		 *         or null if every result has been taken
+		 * @throws InterruptedException if the thread is interrupted while waiting
+		 * @since 10/17/2026
+		 */
+		public Result take() throws InterruptedException {
+			if (taken == size) {
+				return null;
+			}
+			Result result = results.take();
+			taken++;
+			return result;
+		}
+
+		/**
+		 * drops every board of the batch that has not started solving. Each of them is
+		 * handed back by take() at once, as a result with no tour whose error is a
+		 * CancellationException, so every result still arrives.
+		 *
+		 * @since 10/17/2026
+		 */
+		public void cancel() {
+			for (int i = 0; i < tasks.size(); i++) {
+				// a future cancels a running task too, so the claim decides who posts
+				if (claim(i)) {
+					tasks.get(i).cancel(false);
+					results.add(new Result(i, shapes[i][0], shapes[i][1], null,
+							new CancellationException("cancelled before it started")));
+				}
+			}
+		}
+	}
+
+	/**
+	 * a board of a batch once its solve has finished
+	 *
+	 * @since 10/17/2026
+	 */
+	public static class Result {
+		private final int index;
+		private final int ranks;
+		private final int files;
+		private final Tour tour;
+		private final Throwable error;
+
+		/**
+		 * @param index the position of the board's shape in the batch
+		 * @param ranks the number of ranks on the board
+		 * @param files the number of files on the board
+		 * @param tour the board, or null if it could not be created
+		 * @param error what stopped the solve, or null if it finished
+		 * @since 10/17/2026
+		 */
+		Result(int index, int ranks, int files, Tour tour, Throwable error) {
+			this.index = index;
+			this.ranks = ranks;
+			this.files = files;
+			this.tour = tour;
+			this.error = error;
+		}
+
+		/**
+		 * simple getter
+		 *
+		 * @return the position of the board's shape in the shapes given to solve()
+		 * @since 10/17/2026
+		 */
+		public int getIndex() {
+			return index;
+		}
+
+		/**
+		 * simple getter
+		 *
+		 * @return the number of ranks on the board
+		 * @since 10/17/2026
+		 */
+		public int getRanks() {
+			return ranks;
+		}
+
+		/**
+		 * simple getter
+		 *
+		 * @return the number of files on the board
+		 * @since 10/17/2026
+		 */
+		public int getFiles() {
+			return files;
+		}
+
+		/**
+		 * simple getter
+		 *
+		 * @return the board, check isSolved() to see if a tour was found
+		 * @since 10/17/2026
+		 */
+		public Tour getTour() {
+			return tour;
+		}
+
+		/**
+		 * simple getter
+		 *
+		 * @return the exception that stopped the solve, a CancellationException if the
+		 *         batch was cancelled before it started, or null if it finished
+		 * @since 10/17/2026
+		 */
+		public Throwable getError() {
+			return error;
+		}
+	}
+}
@@ -0,0 +1,218 @@
+package algorithms;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * process wide cache of solved base case tours so that DNCTour() only has to search each
+ * shape of sub-board once. Tours are stored in the compact form produced by
+ * Tour.compactPath() and the least recently used ones are evicted once the cache holds
+ * more bytes than its budget.
+ *
+ * A shape and its transpose share an entry: a tour of an m x n board turned over its
+ * diagonal is a tour of the n x m board with the same corner formations, so get()
+ * hands out the transpose of the other orientation when only that one is cached.
+ *
+ * The budget of the shared cache is read from the system property
+ * "algorithms.tourCache.bytes" and can be changed with setBudget(). A budget of 0 turns
+ * the cache off.
+ *
+ * @since 10/17/2026
+ */
+public class TourCache {
+	// default budget of the shared cache in bytes
+	public static final long DEFAULT_BUDGET = 16L * 1024 * 1024;
+
+	// estimated bytes used by an entry besides its tour
+	private static final int ENTRY_OVERHEAD = 64;
+
+	// the knight move each move becomes when the board is transposed, see Tour.findMoves()
+	private static final byte[] TRANSPOSED_MOVES = transposedMoves();
+
+	private static final TourCache SHARED = new TourCache(
+			Long.getLong("algorithms.tourCache.bytes", DEFAULT_BUDGET));
+
+	// tours in access order, least recently used first
+	private final LinkedHashMap<Long, byte[]> entries;
+	private long budget;
+	private long used;
+
+	/**
+	 * creates an empty cache
+	 *
+	 * @param budget the number of bytes the cache may hold
+	 * @since 10/17/2026
+	 */
+	public TourCache(long budget) {
+		entries = new LinkedHashMap<>(16, 0.75f, true);
+		this.budget = budget;
+		used = 0;
+	}
+
+	/**
+	 * @return the cache used by DNCTour()
+	 * @since 10/17/2026
+	 */
+	public static TourCache shared() {
+		return SHARED;
+	}
+
+	/**
+	 * looks up a solved tour
+	 *
+	 * @param ranks the number of ranks on the board
+	 * @param files the number of files on the board
+	 * @param odd true for a tour missing the top left corner, see Tour.oddTour()
+	 * @return the tour in compact form, transposed from the files x ranks board if only
+	 *         that one is cached, or null if neither is
+	 * @since 10/17/2026
+	 */
+	public synchronized byte[] get(int ranks, int files, boolean odd) {
+		byte[] tour = entries.get(key(ranks, files, odd));
+		if (tour == null && ranks != files) {
+			byte[] transposed = entries.get(key(files, ranks, odd));
+			if (transposed != null) {
+				tour = transpose(transposed, files, ranks);
+			}
+		}
+		return tour;
+	}
+
+	/**
+	 * stores a solved tour, evicting the least recently used tours if the cache goes
+	 * over its budget
+	 *
+	 * @param ranks the number of ranks on the board
+	 * @param files the number of files on the board
+	 * @param odd true for a tour missing the top left corner, see Tour.oddTour()
+	 * @param tour the tour in compact form
+	 * @since 10/17/2026
+	 */
+	public synchronized void put(int ranks, int files, boolean odd, byte[] tour) {
+		if (cost(tour) > budget) {
+			return;
+		}
+		byte[] old = entries.put(key(ranks, files, odd), tour);
+		if (old != null) {
+			used -= cost(old);
+		}
+		used += cost(tour);
+		evict();
+	}
+
+	/**
+	 * changes the number of bytes the cache may hold
+	 *
+	 * @param budget the new budget in bytes
+	 * @since 10/17/2026
+	 */
+	public synchronized void setBudget(long budget) {
+		this.budget = budget;
+		evict();
+	}
+
+	/**
+	 * simple getter
+	 *
+	 * @return the number of bytes the cache may hold
+	 * @since 10/17/2026
+	 */
+	public synchronized long getBudget() {
+		return budget;
+	}
+
+	/**
+	 * simple getter
+	 *
+	 * @return the estimated number of bytes the cache holds
+	 * @since 10/17/2026
+	 */
+	public synchronized long size() {
+		return used;
+	}
+
+	/**
+	 * removes every tour from the cache
+	 *
+	 * @since 10/17/2026
+	 */
+	public synchronized void clear() {
+		entries.clear();
+		used = 0;
+	}
+
+	/**
+	 * drops least recently used tours until the cache is within its budget
+	 *
+	 * @since 10/17/2026
+	 */
+	private void evict() {
+		Iterator<Map.Entry<Long, byte[]>> it = entries.entrySet().iterator();
+		while (used > budget && it.hasNext()) {
+			used -= cost(it.next().getValue());
+			it.remove();
+		}
+	}
+
+	/**
+	 * @param tour a tour in compact form
+	 * @return the estimated number of bytes the tour occupies in the cache
+	 * @since 10/17/2026
+	 */
+	private static long cost(byte[] tour) {
+		return tour.length + ENTRY_OVERHEAD;
+	}
+
+	/**
+	 * turns a tour over the diagonal of its board, from the top left corner to the bottom
+	 * right, by swapping the rank and file of its start and of every move
+	 *
+	 * @param tour a tour in compact form, see Tour.compactPath()
+	 * @param ranks the number of ranks on the board of the tour
+	 * @param files the number of files on the board of the tour
+	 * @return the tour of the files x ranks board in compact form
+	 * @since 10/17/2026
+	 */
+	static byte[] transpose(byte[] tour, int ranks, int files) {
+		byte[] transposed = new byte[tour.length];
+		int start = 0;
+		for (int i = 0; i < Integer.BYTES; i++) {
+			start = (start << 8) | (tour[i] & 0xFF);
+		}
+		start = (start % files) * ranks + start / files;
+		for (int i = 0; i < Integer.BYTES; i++) {
+			transposed[i] = (byte) (start >>> (8 * (Integer.BYTES - 1 - i)));
+		}
+		for (int i = Integer.BYTES; i < tour.length; i++) {
+			transposed[i] = TRANSPOSED_MOVES[tour[i]];
+		}
+		return transposed;
+	}
+
+	/**
+	 * @return the index of the knight move with the rank and file offsets of each move
+	 *         swapped
+	 * @since 10/17/2026
+	 */
+	private static byte[] transposedMoves() {
+		byte[] moves = new byte[Tour.RANK_OFFSETS.length];
+		for (int move = 0; move < moves.length; move++) {
+			byte other = 0;
+			while (Tour.RANK_OFFSETS[other] != Tour.FILE_OFFSETS[move]
+					|| Tour.FILE_OFFSETS[other] != Tour.RANK_OFFSETS[move]) {
+				other++;
+			}
+			moves[move] = other;
+		}
+		return moves;
+	}
+
+	/**
+	 * @return a key unique to the shape of board and kind of tour
+	 * @since 10/17/2026
+	 */
+	private static Long key(int ranks, int files, boolean odd) {
+		return ((long) ranks << 32) | ((long) files << 1) | (odd ? 1 : 0);
+	}
+}
@@ -0,0 +1,627 @@
+package algorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
+
+/**
+ * counts, and if asked hands out, every knight's tour of a small board. The search tree
+ * is cut at a shallow depth into independent units of work that run on a fork/join pool,
+ * each with its own board and counters, and the counts are added up once they finish.
+ *
+ * Open tours are counted in both directions. Only one start square of every class of
+ * squares that the symmetries of the board map onto each other is searched, and its
+ * count stands in for the whole class. The symmetries are the eight rotations and
+ * reflections of a square board, or the four of a rectangular one.
+ *
+ * Closed tours are counted once each, not once per start square or direction: every
+ * closed tour passes through the top left corner by its only two moves, so only the
+ * tours from the corner that take the first of them and come back by the second are
+ * searched.
+ *
+ * The search backs out as soon as an unvisited square has too few unvisited neighbours
+ * left to be passed through, so boards up to 6 x 6 are counted in seconds. The number
+ * of open tours grows far too quickly for boards much larger than that.
+ *
+ * @since 10/17/2026
+ */
+public class TourCounter {
+	// width of the sentinel margin around the board and the value stored in it
+	private static final int MARGIN = 2;
+	private static final int BORDER = -1;
+
+	// default number of units of work per thread of the pool
+	public static final int DEFAULT_UNITS_PER_THREAD = 16;
+
+	private final ForkJoinPool pool;
+	private final int unitsPerThread;
+
+	/**
+	 * creates a counter that runs on the common pool
+	 *
+	 * @since 10/17/2026
+	 */
+	public TourCounter() {
+		this(ForkJoinPool.commonPool(), DEFAULT_UNITS_PER_THREAD);
+	}
+
+	/**
+	 * creates a counter
+	 *
+	 * @param pool the pool to search on
+	 * @param unitsPerThread roughly how many units of work to cut the search into for
+	 *                       every thread of the pool, more balance uneven subtrees better
+	 * @since 10/17/2026
+	 */
+	public TourCounter(ForkJoinPool pool, int unitsPerThread) {
+		this.pool = pool;
+		this.unitsPerThread = Math.max(unitsPerThread, 1);
+	}
+
+	/**
+	 * @param ranks the number of ranks on the board
+	 * @param files the number of files on the board
+	 * @param closed true to count closed tours, false to count open tours in both
+	 *               directions
+	 * @return the number of tours
+	 * @since 10/17/2026
+	 */
+	public long count(int ranks, int files, boolean closed) {
+		return enumerate(ranks, files, closed, null);
+	}
+
+	/**
+	 * counts the tours and hands every one of them to a sink. The sink is called from the
+	 * threads of the pool, possibly at the same time, in no particular order.
+	 *
+	 * @param ranks the number of ranks on the board
+	 * @param files the number of files on the board
+	 * @param closed true for closed tours, each handed out once starting from the top left
+	 *               corner, false for open tours, each handed out once per direction
+	 * @param sink receives the path of every tour, or null to only count them
+	 * @return the number of tours
+	 * @since 10/17/2026
+	 */
+	public long enumerate(int ranks, int files, boolean closed, Consumer<TourPath> sink) {
+		if (ranks < 1 || files < 1) {
+			throw new IllegalArgumentException("a board needs at least one rank and one file");
+		}
+		if (closed && (ranks < 3 || files < 3)) {
+			return 0;
+		}
+
+		// every start square searched, with the symmetries that carry it to the others of
+		// its class
+		List<int[]> starts = new ArrayList<>();
+		List<Symmetry[]> images = new ArrayList<>();
+		Symmetry[] symmetries = Symmetry.of(ranks, files);
+		if (closed) {
+			starts.add(new int[] { 0, 0, 1, 2 });
+			images.add(new Symmetry[] { Symmetry.IDENTITY });
+		} else {
+			boolean[] covered = new boolean[ranks * files];
+			for (int rank = 0; rank < ranks; rank++) {
+				for (int file = 0; file < files; file++) {
+					if (covered[rank * files + file]) {
+						continue;
+					}
+					List<Symmetry> carriers = new ArrayList<>();
+					for (Symmetry symmetry : symmetries) {
+						int square = symmetry.rank(rank, file, ranks, files) * files
+								+ symmetry.file(rank, file, ranks, files);
+						if (!covered[square]) {
+							covered[square] = true;
+							carriers.add(symmetry);
+						}
+					}
+					starts.add(new int[] { rank, file });
+					images.add(carriers.toArray(new Symmetry[0]));
+				}
+			}
+		}
+
+		// cut every start square's tree into prefixes until there is enough work to share
+		List<Unit> units = new ArrayList<>();
+		int wanted = pool.getParallelism() * unitsPerThread;
+		for (int i = 0; i < starts.size(); i++) {
+			Search search = new Search(ranks, files, closed, starts.get(i), images.get(i), sink);
+			int depth = 0;
+			List<int[]> prefixes = search.prefixes(depth);
+			while (!prefixes.isEmpty() && prefixes.size() * starts.size() < wanted && depth < ranks * files / 2) {
+				prefixes = search.prefixes(++depth);
+			}
+			for (int[] prefix : prefixes) {
+				units.add(new Unit(search, prefix));
+			}
+		}
+
+		long count = 0;
+		for (Unit unit : pool.invoke(new Batch(units))) {
+			count += unit.join() * unit.search.images.length;
+		}
+		return count;
+	}
+
+	/**
+	 * runs every unit of work and waits for them
+	 *
+	 * @since 10/17/2026
+	 */
+	private static final class Batch extends RecursiveTask<List<Unit>> {
+		private static final long serialVersionUID = 1L;
+
+		private final transient List<Unit> units;
+
+		/**
+		 * @param units the units of work
+		 * @since 10/17/2026
+		 */
+		Batch(List<Unit> units) {
+			this.units = units;
+		}
+
+		@Override
+		protected List<Unit> compute() {
+			invokeAll(units);
+			return units;
+		}
+	}
+
+	/**
+	 * searches every tour that begins with a prefix on a board of its own
+	 *
+	 * @since 10/17/2026
+	 */
+	private static final class Unit extends RecursiveTask<Long> {
+		private static final long serialVersionUID = 1L;
+
+		private final transient Search search;
+		private final int[] prefix;
+
+		/**
+		 * @param search the search the prefix was cut from
+		 * @param prefix the squares the tours begin with, as indexes of the padded board
+		 * @since 10/17/2026
+		 */
+		Unit(Search search, int[] prefix) {
+			this.search = search;
+			this.prefix = prefix;
+		}
+
+		@Override
+		protected Long compute() {
+			return search.copy().count(prefix);
+		}
+	}
+
+	/**
+	 * a rotation or reflection of the board
+	 *
+	 * @since 10/17/2026
+	 */
+	private enum Symmetry {
+		IDENTITY(false, false, false),
+		FLIP_RANKS(true, false, false),
+		FLIP_FILES(false, true, false),
+		HALF_TURN(true, true, false),
+		TRANSPOSE(false, false, true),
+		TURN_LEFT(true, false, true),
+		TURN_RIGHT(false, true, true),
+		ANTI_TRANSPOSE(true, true, true);
+
+		private final boolean flipRanks;
+		private final boolean flipFiles;
+		private final boolean transpose;
+
+		Symmetry(boolean flipRanks, boolean flipFiles, boolean transpose) {
+			this.flipRanks = flipRanks;
+			this.flipFiles = flipFiles;
+			this.transpose = transpose;
+		}
+
+		/**
+		 * @param ranks the number of ranks on the board
+		 * @param files the number of files on the board
+		 * @return the symmetries of the board, all eight for a square board or the four
+		 *         that keep the ranks and files apart for a rectangle
+		 * @since 10/17/2026
+		 */
+		static Symmetry[] of(int ranks, int files) {
+			return ranks == files ? values() : new Symmetry[] { IDENTITY, FLIP_RANKS, FLIP_FILES, HALF_TURN };
+		}
+
+		/**
+		 * @return the rank the square [rank][file] is carried to
+		 * @since 10/17/2026
+		 */
+		int rank(int rank, int file, int ranks, int files) {
+			int r = flipRanks ? ranks - 1 - rank : rank;
+			int f = flipFiles ? files - 1 - file : file;
+			return transpose ? f : r;
+		}
+
+		/**
+		 * @return the file the square [rank][file] is carried to
+		 * @since 10/17/2026
+		 */
+		int file(int rank, int file, int ranks, int files) {
+			int r = flipRanks ? ranks - 1 - rank : rank;
+			int f = flipFiles ? files - 1 - file : file;
+			return transpose ? r : f;
+		}
+	}
+
+	/**
+	 * the state of a depth first search over one board. Every unit of work runs on a copy
+	 * so they share nothing while they run.
+	 *
+	 * Each unvisited square needs two ways to pass through it, an unvisited neighbour or
+	 * the knight's square to come in by and another to go out by, unless it can be the
+	 * last square of the tour. The search keeps a count of the squares short of that and
+	 * backs out as soon as there are more of them than can end the tour.
+	 *
+	 * @since 10/17/2026
+	 */
+	private static final class Search {
+		private final int ranks;
+		private final int files;
+		private final boolean closed;
+		private final int[] start;
+		private final Symmetry[] images;
+		private final Consumer<TourPath> sink;
+
+		private final int width;
+		private final int[] moveOffsets;
+		private final int[] board;
+		private final int[] degrees;
+		private final int[] near;
+		private final int[] stack;
+		private final int[] next;
+		private final int target;
+		private int depth;
+		private int remaining;
+		private int short1;
+		private int short0;
+
+		/**
+		 * @param ranks the number of ranks on the board
+		 * @param files the number of files on the board
+		 * @param closed true to search closed tours
+		 * @param start the start square, then for closed tours the first square after it
+		 * @param images the symmetries that carry the tours from start to the rest of its
+		 *               class
+		 * @param sink receives the tours, or null
+		 * @since 10/17/2026
+		 */
+		Search(int ranks, int files, boolean closed, int[] start, Symmetry[] images, Consumer<TourPath> sink) {
+			this.ranks = ranks;
+			this.files = files;
+			this.closed = closed;
+			this.start = start;
+			this.images = images;
+			this.sink = sink;
+
+			width = files + 2 * MARGIN;
+			moveOffsets = new int[Tour.RANK_OFFSETS.length];
+			for (int i = 0; i < moveOffsets.length; i++) {
+				moveOffsets[i] = Tour.RANK_OFFSETS[i] * width + Tour.FILE_OFFSETS[i];
+			}
+			board = new int[(ranks + 2 * MARGIN) * width];
+			degrees = new int[board.length];
+			near = new int[board.length];
+			stack = new int[ranks * files];
+			next = new int[ranks * files];
+			target = closed ? square(2, 1) : -1;
+			reset();
+		}
+
+		/**
+		 * @return a fresh search of the same board from the same start
+		 * @since 10/17/2026
+		 */
+		Search copy() {
+			return new Search(ranks, files, closed, start, images, sink);
+		}
+
+		/**
+		 * @return the index of [rank][file] in the padded board
+		 * @since 10/17/2026
+		 */
+		private int square(int rank, int file) {
+			return (rank + MARGIN) * width + file + MARGIN;
+		}
+
+		/**
+		 * empties the board and moves the knight onto the start square, and for closed
+		 * tours the square after it
+		 *
+		 * @since 10/17/2026
+		 */
+		private void reset() {
+			Arrays.fill(board, BORDER);
+			for (int rank = 0; rank < ranks; rank++) {
+				for (int file = 0; file < files; file++) {
+					board[square(rank, file)] = 0;
+				}
+			}
+			Arrays.fill(degrees, 0);
+			Arrays.fill(near, 0);
+			for (int square = 0; square < board.length; square++) {
+				if (board[square] == 0) {
+					for (int offset : moveOffsets) {
+						if (board[square + offset] == 0) {
+							degrees[square]++;
+						}
+					}
+				}
+			}
+			depth = -1;
+			remaining = ranks * files;
+			short1 = 0;
+			short0 = 0;
+			for (int square = 0; square < board.length; square++) {
+				include(square);
+			}
+			push(square(start[0], start[1]));
+			if (closed) {
+				push(square(start[2], start[3]));
+			}
+		}
+
+		/**
+		 * @return how many ways an unvisited square needs to pass through it
+		 * @since 10/17/2026
+		 */
+		private int needs(int square) {
+			if (closed) {
+				return square == target ? 1 : 2;
+			}
+			return 2;
+		}
+
+		/**
+		 * counts an unvisited square among those short of ways through
+		 *
+		 * @since 10/17/2026
+		 */
+		private void include(int square) {
+			if (board[square] == 0) {
+				int ways = degrees[square] + near[square];
+				if (ways < needs(square)) {
+					short1++;
+				}
+				if (ways == 0) {
+					short0++;
+				}
+			}
+		}
+
+		/**
+		 * takes an unvisited square out of the counts of squares short of ways through
+		 *
+		 * @since 10/17/2026
+		 */
+		private void exclude(int square) {
+			if (board[square] == 0) {
+				int ways = degrees[square] + near[square];
+				if (ways < needs(square)) {
+					short1--;
+				}
+				if (ways == 0) {
+					short0--;
+				}
+			}
+		}
+
+		/**
+		 * takes the squares whose ways through change when the knight moves between two
+		 * squares out of the counts, or puts them back
+		 *
+		 * @since 10/17/2026
+		 */
+		private void recount(int from, int to, boolean add) {
+			for (int offset : moveOffsets) {
+				if (from >= 0) {
+					if (add) {
+						include(from + offset);
+					} else {
+						exclude(from + offset);
+					}
+				}
+				if (add) {
+					include(to + offset);
+				} else {
+					exclude(to + offset);
+				}
+			}
+			if (add) {
+				include(to);
+			} else {
+				exclude(to);
+			}
+		}
+
+		/**
+		 * moves the knight to a square
+		 *
+		 * @since 10/17/2026
+		 */
+		private void push(int square) {
+			int from = depth >= 0 ? stack[depth] : -1;
+			recount(from, square, false);
+			if (from >= 0) {
+				for (int offset : moveOffsets) {
+					near[from + offset]--;
+				}
+			}
+			board[square] = 1;
+			for (int offset : moveOffsets) {
+				degrees[square + offset]--;
+				near[square + offset]++;
+			}
+			depth++;
+			stack[depth] = square;
+			next[depth] = 0;
+			remaining--;
+			recount(from, square, true);
+		}
+
+		/**
+		 * moves the knight back off its square
+		 *
+		 * @since 10/17/2026
+		 */
+		private void pop() {
+			int square = stack[depth];
+			int from = depth > 0 ? stack[depth - 1] : -1;
+			recount(from, square, false);
+			board[square] = 0;
+			for (int offset : moveOffsets) {
+				degrees[square + offset]++;
+				near[square + offset]--;
+			}
+			if (from >= 0) {
+				for (int offset : moveOffsets) {
+					near[from + offset]++;
+				}
+			}
+			depth--;
+			remaining++;
+			recount(from, square, true);
+		}
+
+		/**
+		 * @return true if the squares short of ways through cannot all be fitted in
+		 * @since 10/17/2026
+		 */
+		private boolean stuck() {
+			if (remaining == 0) {
+				return false;
+			}
+			// an open tour can end on one square short of ways, a closed one only on its target
+			return short0 > 0 || short1 > (closed ? 0 : 1);
+		}
+
+		/**
+		 * @return true if the knight's square can be the last of a tour
+		 * @since 10/17/2026
+		 */
+		private boolean complete() {
+			return remaining == 0 && (!closed || stack[depth] == target);
+		}
+
+		/**
+		 * @param square a square the knight could move to next
+		 * @return true if the knight may move there now
+		 * @since 10/17/2026
+		 */
+		private boolean allowed(int square) {
+			// the target of a closed tour has to be the last square
+			return board[square] == 0 && (square != target || remaining == 1);
+		}
+
+		/**
+		 * @param length the number of moves to look ahead from the start
+		 * @return every sequence of that many moves the search would try, as the squares
+		 *         of the board moved to
+		 * @since 10/17/2026
+		 */
+		List<int[]> prefixes(int length) {
+			List<int[]> prefixes = new ArrayList<>();
+			int base = depth;
+			collect(base, base + length, prefixes);
+			return prefixes;
+		}
+
+		/**
+		 * adds every sequence of moves from the knight's square up to a depth
+		 *
+		 * @since 10/17/2026
+		 */
+		private void collect(int base, int end, List<int[]> prefixes) {
+			if (depth == end || remaining == 0) {
+				int[] prefix = new int[depth - base];
+				System.arraycopy(stack, base + 1, prefix, 0, prefix.length);
+				prefixes.add(prefix);
+				return;
+			}
+			int square = stack[depth];
+			for (int offset : moveOffsets) {
+				int to = square + offset;
+				if (allowed(to)) {
+					push(to);
+					if (!stuck()) {
+						collect(base, end, prefixes);
+					}
+					pop();
+				}
+			}
+		}
+
+		/**
+		 * counts the tours that begin with a prefix
+		 *
+		 * @param prefix squares to move to before searching
+		 * @return the number of tours found
+		 * @since 10/17/2026
+		 */
+		long count(int[] prefix) {
+			for (int square : prefix) {
+				push(square);
+			}
+			int base = depth;
+			long count = 0;
+			while (true) {
+				if (complete()) {
+					count++;
+					if (sink != null) {
+						emit();
+					}
+				}
+
+				// find the next square to try from the knight's square
+				int square = stack[depth];
+				boolean moved = false;
+				while (remaining > 0 && next[depth] < moveOffsets.length) {
+					int to = square + moveOffsets[next[depth]++];
+					if (!allowed(to)) {
+						continue;
+					}
+					push(to);
+					if (!stuck()) {
+						moved = true;
+						break;
+					}
+					pop();
+				}
+				if (moved) {
+					continue;
+				}
+				if (depth == base) {
+					return count;
+				}
+				pop();
+			}
+		}
+
+		/**
+		 * hands the tour on the stack, and its images under the symmetries, to the sink
+		 *
+		 * @since 10/17/2026
+		 */
+		private void emit() {
+			for (Symmetry symmetry : images) {
+				TourPath path = new TourPath(ranks, files);
+				for (int i = 0; i <= depth; i++) {
+					int rank = stack[i] / width - MARGIN;
+					int file = stack[i] % width - MARGIN;
+					path.add(symmetry.rank(rank, file, ranks, files), symmetry.file(rank, file, ranks, files));
+				}
+				sink.accept(path);
+			}
+		}
+	}
+}
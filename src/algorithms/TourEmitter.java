@@ -0,0 +1,152 @@
+package algorithms;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * streams the squares of a tour to a channel in the order the knight visits them. The
+ * squares are encoded into one reusable direct buffer that is written out whenever it
+ * fills up, and composed paths are walked without being copied, so the memory used does
+ * not grow with the size of the board and the first bytes are written right away.
+ *
+ * An emitter is not safe to share between threads.
+ *
+ * @since 10/17/2026
+ */
+public class TourEmitter implements SquareSink {
+	/**
+	 * the ways a tour can be written out
+	 *
+	 * @since 10/17/2026
+	 */
+	public enum Encoding {
+		/**
+		 * one line of "rank,file" per square
+		 */
+		TEXT,
+
+		/**
+		 * a header of ranks, files (ints) and the number of squares (long), followed by the
+		 * rank and file of each square as ints, all big endian
+		 */
+		BINARY
+	}
+
+	// default size of the buffer in bytes
+	public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+	// most bytes a single square can take up in either encoding
+	private static final int MAX_RECORD = 2 * 10 + 2;
+
+	private final Encoding encoding;
+	private final ByteBuffer buffer;
+	private WritableByteChannel channel;
+
+	/**
+	 * creates an emitter with a buffer of the default size
+	 *
+	 * @param encoding how to write the squares
+	 * @since 10/17/2026
+	 */
+	public TourEmitter(Encoding encoding) {
+		this(encoding, DEFAULT_BUFFER_SIZE);
+	}
+
+	/**
+	 * creates an emitter
+	 *
+	 * @param encoding how to write the squares
+	 * @param bufferSize the number of bytes to collect before writing to the channel
+	 * @since 10/17/2026
+	 */
+	public TourEmitter(Encoding encoding, int bufferSize) {
+		this.encoding = encoding;
+		buffer = ByteBuffer.allocateDirect(Math.max(bufferSize, MAX_RECORD + Long.BYTES));
+	}
+
+	/**
+	 * writes every square of a path to a channel
+	 *
+	 * @param path the path of the tour
+	 * @param channel where to write the tour, it is left open
+	 * @throws IOException if the channel cannot be written to
+	 * @since 10/17/2026
+	 */
+	public void write(TourPath path, WritableByteChannel channel) throws IOException {
+		this.channel = channel;
+		buffer.clear();
+		try {
+			if (encoding == Encoding.BINARY) {
+				buffer.putInt(path.getRanks()).putInt(path.getFiles()).putLong(path.size());
+			}
+			path.read(0, path.size(), this);
+			flush();
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		} finally {
+			this.channel = null;
+		}
+	}
+
+	/**
+	 * encodes one square into the buffer, writing the buffer out first if it is full
+	 *
+	 * @param rank the rank of the square
+	 * @param file the file of the square
+	 * @since 10/17/2026
+	 */
+	@Override
+	public void accept(int rank, int file) {
+		if (buffer.remaining() < MAX_RECORD) {
+			try {
+				flush();
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+
+		if (encoding == Encoding.BINARY) {
+			buffer.putInt(rank).putInt(file);
+		} else {
+			putDigits(rank);
+			buffer.put((byte) ',');
+			putDigits(file);
+			buffer.put((byte) '\n');
+		}
+	}
+
+	/**
+	 * writes a non-negative number into the buffer in decimal without building a String
+	 *
+	 * @param value the number to write
+	 * @since 10/17/2026
+	 */
+	private void putDigits(int value) {
+		int digits = 1;
+		for (int rest = value / 10; rest > 0; rest /= 10) {
+			digits++;
+		}
+		int start = buffer.position();
+		for (int i = digits - 1; i >= 0; i--) {
+			buffer.put(start + i, (byte) ('0' + value % 10));
+			value /= 10;
+		}
+		buffer.position(start + digits);
+	}
+
+	/**
+	 * writes everything in the buffer to the channel and empties the buffer
+	 *
+	 * @throws IOException if the channel cannot be written to
+	 * @since 10/17/2026
+	 */
+	private void flush() throws IOException {
+		buffer.flip();
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		buffer.clear();
+	}
+}
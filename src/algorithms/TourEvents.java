@@ -0,0 +1,80 @@
+package algorithms;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder events emitted by DNCTour(), so slow sub-board shapes can be found in
+ * recordings. They cost next to nothing while no recording has them enabled.
+ *
+ * @since 10/17/2026
+ */
+final class TourEvents {
+	private TourEvents() {
+	}
+
+	/**
+	 * a base case board solved by search or restored from the TourCache or TilePack
+	 *
+	 * @since 10/17/2026
+	 */
+	@Name("algorithms.BaseCase")
+	@Label("Base Case Solve")
+	@Category("Knight's Tour")
+	@Description("A base case board of DNCTour() being solved")
+	static final class BaseCase extends Event {
+		@Label("Ranks")
+		int ranks;
+
+		@Label("Files")
+		int files;
+
+		@Label("Odd")
+		@Description("True for a tour missing the top left corner")
+		boolean odd;
+
+		@Label("Cached")
+		boolean cached;
+
+		@Label("Packed")
+		@Description("True for a tour restored from the TilePack")
+		boolean packed;
+
+		@Label("Solved")
+		boolean solved;
+
+		@Label("Nodes")
+		long nodes;
+
+		@Label("Backtracks")
+		long backtracks;
+
+		@Label("Restarts")
+		@Description("Searches started again after running out of nodes")
+		long restarts;
+	}
+
+	/**
+	 * four solved quarters merged by joinTours()
+	 *
+	 * @since 10/17/2026
+	 */
+	@Name("algorithms.Join")
+	@Label("Join Tours")
+	@Category("Knight's Tour")
+	@Description("Four quarter tours being merged by joinTours()")
+	static final class Join extends Event {
+		@Label("Ranks")
+		int ranks;
+
+		@Label("Files")
+		int files;
+
+		@Label("Level")
+		@Description("Depth of the merged board in the split, 0 for the whole board")
+		int level;
+	}
+}
@@ -0,0 +1,474 @@
+package algorithms;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * a compact file format for archiving tours, and a reader that memory maps such a file.
+ * Every step of a tour is one of the eight knight moves, so after the first square each
+ * step is stored as the 3 bit index of its move in Tour's move offsets.
+ *
+ * The file is laid out as follows, all numbers big endian:
+ * a header of the magic number, the version (short), flags (short, bit 0 set for a
+ * closed tour), ranks, files, the number of squares (long), the checkpoint interval and
+ * the number of checkpoints; then the moves, packed 8 to every 3 bytes, highest bits
+ * first; then the checkpoints, the rank and file of every interval'th square.
+ *
+ * A checkpoint lets a reader start decoding at its square without reading the moves
+ * before it, so any square can be found by decoding less than one interval of moves.
+ *
+ * @since 10/17/2026
+ */
+public class TourFile implements Closeable {
+	// "KTOU"
+	public static final int MAGIC = 0x4B544F55;
+	public static final short VERSION = 1;
+
+	// default number of squares between checkpoints
+	public static final int DEFAULT_INTERVAL = 4096;
+
+	// header members
+	private static final int HEADER_BYTES = 32;
+	private static final short CLOSED = 1;
+
+	// move members
+	private static final int MOVE_BITS = 3;
+	private static final int MOVES_PER_GROUP = 8;
+	private static final int GROUP_BYTES = 3;
+
+	// the moves are mapped in chunks of a whole number of groups
+	private static final long CHUNK_BYTES = 3L << 28;
+
+	// header of the open file
+	private final int ranks;
+	private final int files;
+	private final boolean closed;
+	private final long size;
+	private final int interval;
+
+	// mapped contents of the open file
+	private final FileChannel channel;
+	private final ByteBuffer[] moves;
+	private final long moveBytes;
+	private final ByteBuffer checkpoints;
+
+	/**
+	 * memory maps a tour file for reading
+	 *
+	 * @param file the file to read
+	 * @throws IOException if the file cannot be read or is not a tour file of a known
+	 *                     version
+	 * @since 10/17/2026
+	 */
+	public TourFile(Path file) throws IOException {
+		channel = FileChannel.open(file, StandardOpenOption.READ);
+		try {
+			if (channel.size() < HEADER_BYTES) {
+				throw new IOException(file + " is too short to be a tour file");
+			}
+			ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+			if (header.getInt() != MAGIC) {
+				throw new IOException(file + " is not a tour file");
+			}
+			short version = header.getShort();
+			if (version != VERSION) {
+				throw new IOException(file + " has unsupported version " + version);
+			}
+			closed = (header.getShort() & CLOSED) != 0;
+			ranks = header.getInt();
+			files = header.getInt();
+			size = header.getLong();
+			interval = header.getInt();
+			int count = header.getInt();
+			if (interval <= 0 || count != checkpointCount(size, interval)) {
+				throw new IOException(file + " has a corrupt header");
+			}
+
+			moveBytes = moveBytes(size);
+			if (channel.size() != HEADER_BYTES + moveBytes + (long) count * 2 * Integer.BYTES) {
+				throw new IOException(file + " is not the length its header describes");
+			}
+			moves = new ByteBuffer[(int) ((moveBytes + CHUNK_BYTES - 1) / CHUNK_BYTES)];
+			for (int i = 0; i < moves.length; i++) {
+				long position = i * CHUNK_BYTES;
+				moves[i] = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES + position,
+						Math.min(CHUNK_BYTES, moveBytes - position));
+			}
+			checkpoints = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES + moveBytes,
+					(long) count * 2 * Integer.BYTES);
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * writes a tour to a file in this format, with the default checkpoint interval
+	 *
+	 * @param path the path of the tour
+	 * @param file the file to write, replacing it if it exists
+	 * @throws IOException if the file cannot be written
+	 * @since 10/17/2026
+	 */
+	public static void write(TourPath path, Path file) throws IOException {
+		try (FileChannel out = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			write(path, out, DEFAULT_INTERVAL);
+		}
+	}
+
+	/**
+	 * writes a tour to a channel in this format. Composed paths are read without being
+	 * copied, see TourPath.read().
+	 *
+	 * @param path the path of the tour
+	 * @param channel where to write the tour, it is left open
+	 * @param interval the number of squares between checkpoints, a positive multiple of 8
+	 * @throws IOException if the channel cannot be written to
+	 * @throws IllegalArgumentException if the interval is not a positive multiple of 8 or
+	 *                                  the path makes a step that is not a knight move
+	 * @since 10/17/2026
+	 */
+	public static void write(TourPath path, WritableByteChannel channel, int interval) throws IOException {
+		if (interval <= 0 || interval % MOVES_PER_GROUP != 0) {
+			throw new IllegalArgumentException("interval " + interval + " is not a positive multiple of 8");
+		}
+		long size = path.size();
+		int count = checkpointCount(size, interval);
+
+		Encoder encoder = new Encoder(channel, interval, count);
+		ByteBuffer buffer = encoder.buffer;
+		buffer.putInt(MAGIC).putShort(VERSION).putShort(isClosed(path) ? CLOSED : 0);
+		buffer.putInt(path.getRanks()).putInt(path.getFiles()).putLong(size);
+		buffer.putInt(interval).putInt(count);
+		try {
+			path.read(0, size, encoder);
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+		encoder.finish();
+	}
+
+	/**
+	 * simple getter
+	 *
+	 * @return the number of ranks on the board
+	 * @since 10/17/2026
+	 */
+	public int getRanks() {
+		return ranks;
+	}
+
+	/**
+	 * simple getter
+	 *
+	 * @return the number of files on the board
+	 * @since 10/17/2026
+	 */
+	public int getFiles() {
+		return files;
+	}
+
+	/**
+	 * simple getter
+	 *
+	 * @return true if the last square of the tour is a knight move from the first
+	 * @since 10/17/2026
+	 */
+	public boolean isClosed() {
+		return closed;
+	}
+
+	/**
+	 * simple getter
+	 *
+	 * @return the number of squares on the tour
+	 * @since 10/17/2026
+	 */
+	public long size() {
+		return size;
+	}
+
+	/**
+	 * simple getter
+	 *
+	 * @return the number of squares between checkpoints
+	 * @since 10/17/2026
+	 */
+	public int getInterval() {
+		return interval;
+	}
+
+	/**
+	 * finds where the knight is after a number of steps, decoding from the nearest
+	 * checkpoint before it
+	 *
+	 * @param step the index of the square on the tour, starting from 0
+	 * @return the rank shifted into the high 32 bits and the file in the low 32 bits, the
+	 *         same as TourPath.squareAt()
+	 * @since 10/17/2026
+	 */
+	public long squareAt(long step) {
+		long[] square = new long[1];
+		read(step, 1, (rank, file) -> square[0] = ((long) rank << 32) | file);
+		return square[0];
+	}
+
+	/**
+	 * decodes a range of the tour, starting from the nearest checkpoint before it
+	 *
+	 * @param from the index of the first square to read
+	 * @param count the number of squares to read
+	 * @param sink receives the squares in order
+	 * @since 10/17/2026
+	 */
+	public void read(long from, long count, SquareSink sink) {
+		if (from < 0 || count < 0 || from + count > size) {
+			throw new IndexOutOfBoundsException("cannot read " + count + " squares from " + from + " of " + size);
+		}
+		if (count == 0) {
+			return;
+		}
+
+		long checkpoint = from / interval;
+		int at = (int) (checkpoint * 2 * Integer.BYTES);
+		int rank = checkpoints.getInt(at);
+		int file = checkpoints.getInt(at + Integer.BYTES);
+
+		long end = from + count;
+		long step = checkpoint * interval;
+		if (step >= from) {
+			sink.accept(rank, file);
+		}
+
+		// move i leads from square i to square i + 1
+		long group = step / MOVES_PER_GROUP;
+		while (step + 1 < end) {
+			int bits = group(group++);
+			for (int i = MOVES_PER_GROUP - 1; i >= 0 && step + 1 < end; i--) {
+				int move = (bits >>> (i * MOVE_BITS)) & ((1 << MOVE_BITS) - 1);
+				rank += Tour.RANK_OFFSETS[move];
+				file += Tour.FILE_OFFSETS[move];
+				step++;
+				if (step >= from) {
+					sink.accept(rank, file);
+				}
+			}
+		}
+	}
+
+	/**
+	 * decodes the whole tour into a path
+	 *
+	 * @return the path of the tour
+	 * @since 10/17/2026
+	 */
+	public TourPath toPath() {
+		TourPath path = new TourPath(ranks, files);
+		read(0, size, path::add);
+		return path;
+	}
+
+	/**
+	 * closes the file. The mappings stay readable until they are garbage collected.
+	 *
+	 * @throws IOException if the file cannot be closed
+	 * @since 10/17/2026
+	 */
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+
+	/**
+	 * @param group the index of a group of 8 moves
+	 * @return the 24 bits of the group, zero past the end of the moves
+	 * @since 10/17/2026
+	 */
+	private int group(long group) {
+		long position = group * GROUP_BYTES;
+		ByteBuffer chunk = moves[(int) (position / CHUNK_BYTES)];
+		int at = (int) (position % CHUNK_BYTES);
+		int bits = 0;
+		for (int i = 0; i < GROUP_BYTES; i++) {
+			bits <<= 8;
+			if (at + i < chunk.limit()) {
+				bits |= chunk.get(at + i) & 0xFF;
+			}
+		}
+		return bits;
+	}
+
+	/**
+	 * @param path the path of a tour
+	 * @return true if the last square is a knight move from the first
+	 * @since 10/17/2026
+	 */
+	private static boolean isClosed(TourPath path) {
+		if (path.size() < 2) {
+			return false;
+		}
+		long first = path.squareAt(0);
+		long last = path.squareAt(path.size() - 1);
+		return moveIndex((int) (first >>> 32) - (int) (last >>> 32), (int) first - (int) last) >= 0;
+	}
+
+	/**
+	 * @param rankOffset the ranks moved
+	 * @param fileOffset the files moved
+	 * @return the index of the knight move in Tour's move offsets, or -1 if it is not one
+	 * @since 10/17/2026
+	 */
+	private static int moveIndex(int rankOffset, int fileOffset) {
+		for (int move = 0; move < Tour.RANK_OFFSETS.length; move++) {
+			if (Tour.RANK_OFFSETS[move] == rankOffset && Tour.FILE_OFFSETS[move] == fileOffset) {
+				return move;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * @param size the number of squares on a tour
+	 * @param interval the number of squares between checkpoints
+	 * @return the number of checkpoints the tour needs
+	 * @since 10/17/2026
+	 */
+	private static int checkpointCount(long size, int interval) {
+		return Math.toIntExact((size + interval - 1) / interval);
+	}
+
+	/**
+	 * @param size the number of squares on a tour
+	 * @return the number of bytes its packed moves take up
+	 * @since 10/17/2026
+	 */
+	private static long moveBytes(long size) {
+		return size < 2 ? 0 : ((size - 1) * MOVE_BITS + Byte.SIZE - 1) / Byte.SIZE;
+	}
+
+	/**
+	 * packs the squares of a path into moves as they are read, remembering the square at
+	 * each checkpoint, and writes them to a channel through one reusable buffer
+	 *
+	 * @since 10/17/2026
+	 */
+	private static final class Encoder implements SquareSink {
+		private final WritableByteChannel channel;
+		private final ByteBuffer buffer;
+		private final int interval;
+		private final int[] checkpoints;
+
+		// the last square and its index on the path
+		private int rank;
+		private int file;
+		private long step;
+
+		// bits of moves not yet written out
+		private int bits;
+		private int bitCount;
+
+		/**
+		 * @param channel where to write the tour
+		 * @param interval the number of squares between checkpoints
+		 * @param count the number of checkpoints
+		 * @since 10/17/2026
+		 */
+		Encoder(WritableByteChannel channel, int interval, int count) {
+			this.channel = channel;
+			this.interval = interval;
+			buffer = ByteBuffer.allocateDirect(TourEmitter.DEFAULT_BUFFER_SIZE);
+			checkpoints = new int[Math.multiplyExact(count, 2)];
+			step = -1;
+		}
+
+		/**
+		 * @param rank the rank of the next square
+		 * @param file the file of the next square
+		 * @since 10/17/2026
+		 */
+		@Override
+		public void accept(int rank, int file) {
+			if (step >= 0) {
+				int move = moveIndex(rank - this.rank, file - this.file);
+				if (move < 0) {
+					throw new IllegalArgumentException("step " + step + " of the path is not a knight move");
+				}
+				bits = (bits << MOVE_BITS) | move;
+				bitCount += MOVE_BITS;
+				if (bitCount >= Byte.SIZE) {
+					bitCount -= Byte.SIZE;
+					put((byte) (bits >>> bitCount));
+				}
+			}
+			step++;
+			this.rank = rank;
+			this.file = file;
+			if (step % interval == 0) {
+				int checkpoint = (int) (step / interval) * 2;
+				checkpoints[checkpoint] = rank;
+				checkpoints[checkpoint + 1] = file;
+			}
+		}
+
+		/**
+		 * writes the last partial byte of moves, the checkpoints and anything left in the
+		 * buffer
+		 *
+		 * @throws IOException if the channel cannot be written to
+		 * @since 10/17/2026
+		 */
+		void finish() throws IOException {
+			try {
+				if (bitCount > 0) {
+					put((byte) (bits << (Byte.SIZE - bitCount)));
+					bitCount = 0;
+				}
+				for (int value : checkpoints) {
+					if (buffer.remaining() < Integer.BYTES) {
+						flush();
+					}
+					buffer.putInt(value);
+				}
+			} catch (UncheckedIOException e) {
+				throw e.getCause();
+			}
+			flush();
+		}
+
+		/**
+		 * @param value the next byte of the file
+		 * @since 10/17/2026
+		 */
+		private void put(byte value) {
+			if (!buffer.hasRemaining()) {
+				try {
+					flush();
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			}
+			buffer.put(value);
+		}
+
+		/**
+		 * writes everything in the buffer to the channel and empties the buffer
+		 *
+		 * @throws IOException if the channel cannot be written to
+		 * @since 10/17/2026
+		 */
+		private void flush() throws IOException {
+			buffer.flip();
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+			buffer.clear();
+		}
+	}
+}
@@ -0,0 +1,521 @@
+package algorithms;
+
+import java.util.Arrays;
+
+/**
+ * the order in which a knight visits the squares of a board, packed into an int array
+ * with one entry of rank * files + file per square.
+ *
+ * The path is read through a view that can be rotated to start at any step, reversed and
+ * translated to other coordinates without touching the packed squares, so joinTours() can
+ * rearrange a sub-tour in constant time.
+ *
+ * A path can also be composed of slices of other paths with concat(). The squares of a
+ * composed path are only copied, once each, the first time they are read, so stitching
+ * sub-tours together costs nothing per square.
+ *
+ * @since 10/17/2026
+ */
+public class TourPath {
+	// squares of the path, shared by every view of the same path
+	private Storage storage;
+
+	// view members
+	private long head;
+	private boolean reversed;
+	private int rankShift;
+	private int fileShift;
+	private long size;
+
+	/**
+	 * creates an empty path
+	 *
+	 * @param ranks the number of ranks on the board the path belongs to
+	 * @param files the number of files on the board the path belongs to
+	 * @since 10/17/2026
+	 */
+	public TourPath(int ranks, int files) {
+		this(new Storage(ranks, files));
+	}
+
+	/**
+	 * creates a view of the whole of some storage
+	 *
+	 * @param storage the squares to view
+	 * @since 10/17/2026
+	 */
+	private TourPath(Storage storage) {
+		this.storage = storage;
+		head = 0;
+		reversed = false;
+		rankShift = 0;
+		fileShift = 0;
+		size = storage.length;
+	}
+
+	/**
+	 * builds a path that visits the squares of several other paths one after another,
+	 * without copying any of them
+	 *
+	 * @param ranks the number of ranks on the board the path belongs to
+	 * @param files the number of files on the board the path belongs to
+	 * @param parts views of the other paths, already translated to the new board. They
+	 *              should not be changed afterwards.
+	 * @return the composed path
+	 * @since 10/17/2026
+	 */
+	public static TourPath concat(int ranks, int files, TourPath... parts) {
+		Storage storage = new Storage(ranks, files);
+		storage.parts = parts;
+		storage.offsets = new long[parts.length + 1];
+		for (int i = 0; i < parts.length; i++) {
+			storage.offsets[i + 1] = storage.offsets[i] + parts[i].size;
+		}
+		storage.length = storage.offsets[parts.length];
+		return new TourPath(storage);
+	}
+
+	/**
+	 * simple getter
+	 *
+	 * @return the number of squares on the path
+	 * @since 10/17/2026
+	 */
+	public long size() {
+		return size;
+	}
+
+	/**
+	 * @return true if the path has no squares
+	 * @since 10/17/2026
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * appends a square to the packed squares. Meant for building a path, so the view
+	 * should not have been rotated, reversed, translated or sliced yet.
+	 *
+	 * @param rank the rank of the square
+	 * @param file the file of the square
+	 * @since 10/17/2026
+	 */
+	public void add(int rank, int file) {
+		storage.flatten();
+		if (storage.length == storage.squares.length) {
+			storage.squares = Arrays.copyOf(storage.squares, (int) Math.max(storage.length * 2, 8));
+		}
+		storage.squares[(int) storage.length++] = rank * storage.files + file;
+		storage.indices = null;
+		size = storage.length;
+	}
+
+	/**
+	 * removes every square and resets the view
+	 *
+	 * @since 10/17/2026
+	 */
+	public void clear() {
+		storage = new Storage(storage.ranks, storage.files);
+		head = 0;
+		reversed = false;
+		rankShift = 0;
+		fileShift = 0;
+		size = 0;
+	}
+
+	/**
+	 * simple getter
+	 *
+	 * @return the number of ranks on the board the path belongs to
+	 * @since 10/17/2026
+	 */
+	public int getRanks() {
+		return storage.ranks;
+	}
+
+	/**
+	 * simple getter
+	 *
+	 * @return the number of files on the board the path belongs to
+	 * @since 10/17/2026
+	 */
+	public int getFiles() {
+		return storage.files;
+	}
+
+	/**
+	 * @param step a position in the view, starting from 0
+	 * @return the rank of the square at that position
+	 * @since 10/17/2026
+	 */
+	public int rank(long step) {
+		storage.flatten();
+		return storage.squares[(int) index(step)] / storage.files + rankShift;
+	}
+
+	/**
+	 * @param step a position in the view, starting from 0
+	 * @return the file of the square at that position
+	 * @since 10/17/2026
+	 */
+	public int file(long step) {
+		storage.flatten();
+		return storage.squares[(int) index(step)] % storage.files + fileShift;
+	}
+
+	/**
+	 * @param step a position in the view, starting from 0
+	 * @return the square at that position
+	 * @since 10/17/2026
+	 */
+	public Move get(long step) {
+		return new Move(rank(step), file(step));
+	}
+
+	/**
+	 * finds the square at a position in the view without copying the squares of a
+	 * composed path, by descending through the parts it is composed of
+	 *
+	 * @param step a position in the view, starting from 0
+	 * @return the rank of the square in the upper 32 bits and its file in the lower 32
+	 * @since 10/17/2026
+	 */
+	public long squareAt(long step) {
+		long square = storage.squareAt(index(step));
+		return square + ((long) rankShift << 32) + fileShift;
+	}
+
+	/**
+	 * finds where a square appears in the view, without copying the squares of a
+	 * composed path
+	 *
+	 * @param rank the rank of the square, in the coordinates of the view
+	 * @param file the file of the square, in the coordinates of the view
+	 * @return the position of the square in the view, or -1 if it is not on the path
+	 * @since 10/17/2026
+	 */
+	public long find(int rank, int file) {
+		return stepOf(storage.indexOf(rank - rankShift, file - fileShift));
+	}
+
+	/**
+	 * @param index an index in the storage, or -1
+	 * @return the position of that index in the view, or -1 if it is outside the view
+	 * @since 10/17/2026
+	 */
+	private long stepOf(long index) {
+		if (index < 0) {
+			return -1;
+		}
+		long step = Math.floorMod(reversed ? head - index : index - head, storage.length);
+		return step < size ? step : -1;
+	}
+
+	/**
+	 * @return a new view of the same squares that starts out like this one and can be
+	 *         changed without affecting it
+	 * @since 10/17/2026
+	 */
+	public TourPath view() {
+		return slice(0, size);
+	}
+
+	/**
+	 * @param from the position in this view of the first square of the slice
+	 * @param count the number of squares in the slice
+	 * @return a new view of part of the same squares, walking them in the same direction
+	 * @since 10/17/2026
+	 */
+	public TourPath slice(long from, long count) {
+		TourPath slice = new TourPath(storage);
+		slice.head = count > 0 ? index(from) : 0;
+		slice.reversed = reversed;
+		slice.rankShift = rankShift;
+		slice.fileShift = fileShift;
+		slice.size = count;
+		return slice;
+	}
+
+	/**
+	 * copies the view mirrored in the main diagonal, so every square [rank][file] becomes
+	 * [file][rank] on a board with the ranks and files swapped. Knight moves stay knight
+	 * moves, so a tour stays a tour.
+	 *
+	 * @return a new path of the mirrored squares
+	 * @since 10/17/2026
+	 */
+	public TourPath transpose() {
+		TourPath transposed = new TourPath(storage.files, storage.ranks);
+		read(0, size, (rank, file) -> transposed.add(file, rank));
+		return transposed;
+	}
+
+	/**
+	 * treats the path as a cycle and makes the view start at another position
+	 *
+	 * @param step the position in the current view that becomes position 0
+	 * @since 10/17/2026
+	 */
+	public void rotateTo(long step) {
+		head = index(step);
+	}
+
+	/**
+	 * treats the path as a cycle and walks it in the other direction, keeping the square
+	 * at position 0 in place
+	 *
+	 * @since 10/17/2026
+	 */
+	public void reverse() {
+		reversed = !reversed;
+	}
+
+	/**
+	 * moves every square of the view by a fixed number of ranks and files
+	 *
+	 * @param ranks the number of ranks to move by
+	 * @param files the number of files to move by
+	 * @since 10/17/2026
+	 */
+	public void translate(int ranks, int files) {
+		rankShift += ranks;
+		fileShift += files;
+	}
+
+	/**
+	 * appends part of the view to another path
+	 *
+	 * @param other the path to append to
+	 * @param from the position in the view of the first square to copy
+	 * @param count the number of squares to copy
+	 * @since 10/17/2026
+	 */
+	public void copyTo(TourPath other, long from, int count) {
+		Storage target = other.storage;
+		target.flatten();
+		if (target.length + count > target.squares.length) {
+			target.squares = Arrays.copyOf(target.squares,
+					(int) Math.max(target.length + count, target.length * 2));
+		}
+		read(from, count, new Packer(target.squares, (int) target.length, target.files));
+		target.length += count;
+		target.indices = null;
+		other.size = target.length;
+	}
+
+	/**
+	 * passes consecutive squares of the view to a sink in order, without copying the
+	 * squares of a composed path
+	 *
+	 * @param from the position in the view of the first square to pass on
+	 * @param count the number of squares to pass on
+	 * @param sink receives the squares
+	 * @since 10/17/2026
+	 */
+	public void read(long from, long count, SquareSink sink) {
+		if (count > 0) {
+			storage.emit(index(from), count, reversed ? -1 : 1, sink, rankShift, fileShift);
+		}
+	}
+
+	/**
+	 * @param step a position in the view
+	 * @return the index in the storage of that position
+	 * @since 10/17/2026
+	 */
+	private long index(long step) {
+		return Math.floorMod(reversed ? head - step : head + step, storage.length);
+	}
+
+	/**
+	 * the squares behind one or more views. Either a packed array of squares or, until it
+	 * is first read, a list of views of other storage that are visited in order.
+	 *
+	 * @since 10/17/2026
+	 */
+	private static final class Storage {
+		// size members
+		private final int ranks;
+		private final int files;
+		private long length;
+
+		// packed members
+		private int[] squares;
+		private int[] indices;
+
+		// composed members
+		private TourPath[] parts;
+		private long[] offsets;
+
+		/**
+		 * creates empty packed storage
+		 *
+		 * @param ranks the number of ranks on the board the squares belong to
+		 * @param files the number of files on the board the squares belong to
+		 * @since 10/17/2026
+		 */
+		Storage(int ranks, int files) {
+			this.ranks = ranks;
+			this.files = files;
+			length = 0;
+			squares = new int[0];
+		}
+
+		/**
+		 * copies the squares of composed storage into a packed array and lets go of the
+		 * parts it was composed of
+		 *
+		 * @since 10/17/2026
+		 */
+		void flatten() {
+			if (parts != null) {
+				int[] packed = new int[Math.toIntExact(length)];
+				emit(0, length, 1, new Packer(packed, 0, files), 0, 0);
+				squares = packed;
+				parts = null;
+				offsets = null;
+			}
+		}
+
+		/**
+		 * @param rank the rank of a square
+		 * @param file the file of a square
+		 * @return the index of the square in the storage, or -1 if it is not stored
+		 * @since 10/17/2026
+		 */
+		long indexOf(int rank, int file) {
+			if (rank < 0 || rank >= ranks || file < 0 || file >= files) {
+				return -1;
+			}
+
+			if (parts != null) {
+				// consecutive slices of the same storage only search it once
+				TourPath searched = null;
+				long index = -1;
+				for (int i = 0; i < parts.length; i++) {
+					TourPath view = parts[i];
+					if (searched == null || view.storage != searched.storage
+							|| view.rankShift != searched.rankShift || view.fileShift != searched.fileShift) {
+						searched = view;
+						index = view.storage.indexOf(rank - view.rankShift, file - view.fileShift);
+					}
+					long step = view.stepOf(index);
+					if (step >= 0) {
+						return offsets[i] + step;
+					}
+				}
+				return -1;
+			}
+
+			// packed storage keeps an inverse of the squares once it is searched
+			if (indices == null) {
+				indices = new int[ranks * files];
+				Arrays.fill(indices, -1);
+				for (int i = 0; i < length; i++) {
+					indices[squares[i]] = i;
+				}
+			}
+			return indices[rank * files + file];
+		}
+
+		/**
+		 * @param index an index in the storage
+		 * @return the rank of the square at that index in the upper 32 bits and its file
+		 *         in the lower 32
+		 * @since 10/17/2026
+		 */
+		long squareAt(long index) {
+			if (parts == null) {
+				int square = squares[(int) index];
+				return ((long) (square / files) << 32) + square % files;
+			}
+			int part = partAt(index);
+			return parts[part].squareAt(index - offsets[part]);
+		}
+
+		/**
+		 * @param index an index in composed storage
+		 * @return the part that holds the square at that index
+		 * @since 10/17/2026
+		 */
+		private int partAt(long index) {
+			// binary search, as a long strip can be composed of thousands of parts
+			int part = Arrays.binarySearch(offsets, index);
+			part = part < 0 ? -part - 2 : part;
+			while (offsets[part + 1] <= index) {
+				part++;
+			}
+			return part;
+		}
+
+		/**
+		 * passes squares of the storage to a sink, treating the storage as a cycle
+		 *
+		 * @param index the index of the first square to pass on
+		 * @param count the number of squares to pass on
+		 * @param direction 1 to walk forwards through the storage, -1 to walk backwards
+		 * @param sink receives the squares
+		 * @param rankShift the number of ranks to move every square by
+		 * @param fileShift the number of files to move every square by
+		 * @since 10/17/2026
+		 */
+		void emit(long index, long count, int direction, SquareSink sink, int rankShift, int fileShift) {
+			if (parts == null) {
+				int at = (int) index;
+				for (long i = 0; i < count; i++) {
+					int square = squares[at];
+					sink.accept(square / files + rankShift, square % files + fileShift);
+					at += direction;
+					if (at == length) {
+						at = 0;
+					} else if (at < 0) {
+						at = (int) length - 1;
+					}
+				}
+				return;
+			}
+
+			// hand each run of squares that falls inside one part down to that part
+			while (count > 0) {
+				int part = partAt(index);
+				long local = index - offsets[part];
+				long run = Math.min(count, direction > 0 ? offsets[part + 1] - index : local + 1);
+				TourPath view = parts[part];
+				view.storage.emit(view.index(local), run, view.reversed ? -direction : direction, sink,
+						rankShift + view.rankShift, fileShift + view.fileShift);
+				count -= run;
+				index = Math.floorMod(index + direction * run, length);
+			}
+		}
+	}
+
+	/**
+	 * writes the squares it receives into an array, packed as rank * files + file
+	 *
+	 * @since 10/17/2026
+	 */
+	private static final class Packer implements SquareSink {
+		private final int[] squares;
+		private final int files;
+		private int at;
+
+		/**
+		 * @param squares the array to write into
+		 * @param at the index of the array to write the first square to
+		 * @param files the number of files used to pack the squares
+		 * @since 10/17/2026
+		 */
+		Packer(int[] squares, int at, int files) {
+			this.squares = squares;
+			this.at = at;
+			this.files = files;
+		}
+
+		@Override
+		public void accept(int rank, int file) {
+			squares[at++] = rank * files + file;
+		}
+	}
+}
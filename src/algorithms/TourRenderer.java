@@ -0,0 +1,398 @@
+package algorithms;
+
+import java.awt.Color;
+import java.awt.Image;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.image.ColorModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.DirectColorModel;
+import java.awt.image.Raster;
+import java.awt.image.RenderedImage;
+import java.awt.image.SampleModel;
+import java.awt.image.SinglePixelPackedSampleModel;
+import java.awt.image.WritableRaster;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.CharBuffer;
+import java.util.Vector;
+
+import javax.imageio.ImageIO;
+
+/**
+ * writes the step numbers of a board out rank by rank. Text formats are built in one
+ * reusable buffer that is handed to the output whenever it fills up, and the PNG format
+ * is encoded one row of pixels at a time, so rendering a board never holds more than a
+ * row of it in memory besides the board itself.
+ *
+ * A renderer is not safe to share between threads.
+ *
+ * @since 10/17/2026
+ */
+public class TourRenderer {
+	/**
+	 * the ways a board can be rendered
+	 *
+	 * @since 10/17/2026
+	 */
+	public enum Format {
+		/**
+		 * the padded grid of Tour.toString(), every step between bars
+		 */
+		GRID,
+
+		/**
+		 * one line of comma separated step numbers per rank
+		 */
+		CSV,
+
+		/**
+		 * an image with a block of pixels per square, coloured from red through to violet
+		 * in the order the squares are visited. Unvisited squares are black.
+		 */
+		PNG
+	}
+
+	// number of characters collected before they are written out
+	private static final int BUFFER_SIZE = 8192;
+
+	// most characters a single square can take up in a text format
+	private static final int MAX_CELL = 24;
+
+	// largest edge in pixels that the default block size aims for
+	private static final int DEFAULT_IMAGE_SIZE = 1024;
+
+	private final Format format;
+	private int cellSize;
+
+	// text output members
+	private final char[] chars;
+	private byte[] bytes;
+	private int used;
+	private Appendable appendable;
+	private OutputStream stream;
+
+	/**
+	 * creates a renderer
+	 *
+	 * @param format how to render boards
+	 * @since 10/17/2026
+	 */
+	public TourRenderer(Format format) {
+		this.format = format;
+		cellSize = 0;
+		chars = new char[BUFFER_SIZE];
+	}
+
+	/**
+	 * simple setter
+	 *
+	 * @param cellSize the number of pixels along each edge of a square in a PNG, or 0 to
+	 *                 pick as many as keep the image near 1024 pixels across
+	 * @since 10/17/2026
+	 */
+	public void setCellSize(int cellSize) {
+		this.cellSize = cellSize;
+	}
+
+	/**
+	 * renders a board in a text format
+	 *
+	 * @param board the step numbers of the board
+	 * @param out where to write the board
+	 * @throws IOException if the output cannot be written to
+	 * @throws IllegalStateException if the format is not a text format
+	 * @since 10/17/2026
+	 */
+	public void render(BoardStore board, Appendable out) throws IOException {
+		if (format == Format.PNG) {
+			throw new IllegalStateException("a PNG cannot be written to an Appendable");
+		}
+		appendable = out;
+		try {
+			renderText(board);
+		} finally {
+			appendable = null;
+		}
+	}
+
+	/**
+	 * renders a board in any format, text formats as ASCII
+	 *
+	 * @param board the step numbers of the board
+	 * @param out where to write the board, it is left open
+	 * @throws IOException if the output cannot be written to
+	 * @since 10/17/2026
+	 */
+	public void render(BoardStore board, OutputStream out) throws IOException {
+		if (format == Format.PNG) {
+			int cell = cellSize > 0 ? cellSize
+					: Math.max(1, DEFAULT_IMAGE_SIZE / Math.max(1, Math.max(board.getRanks(), board.getFiles())));
+			if (!ImageIO.write(new StepImage(board, cell), "png", out)) {
+				throw new IOException("no PNG writer is available");
+			}
+			return;
+		}
+
+		if (bytes == null) {
+			bytes = new byte[BUFFER_SIZE];
+		}
+		stream = out;
+		try {
+			renderText(board);
+		} finally {
+			stream = null;
+		}
+	}
+
+	/**
+	 * writes the board in the text format into the buffer, flushing it as it fills
+	 *
+	 * @param board the step numbers of the board
+	 * @throws IOException if the output cannot be written to
+	 * @since 10/17/2026
+	 */
+	private void renderText(BoardStore board) throws IOException {
+		used = 0;
+		int maxDigits = digits(board.squares()) + 1;
+		for (int rank = 0; rank < board.getRanks(); rank++) {
+			for (int file = 0; file < board.getFiles(); file++) {
+				if (BUFFER_SIZE - used < MAX_CELL + maxDigits) {
+					flush();
+				}
+				long step = board.get(rank, file);
+				if (format == Format.GRID) {
+					chars[used++] = '|';
+					putNumber(step);
+					for (int j = digits(step); j <= maxDigits; j++) {
+						chars[used++] = ' ';
+					}
+				} else {
+					if (file > 0) {
+						chars[used++] = ',';
+					}
+					putNumber(step);
+				}
+			}
+			if (BUFFER_SIZE - used < 2) {
+				flush();
+			}
+			if (format == Format.GRID) {
+				chars[used++] = '|';
+			}
+			chars[used++] = '\n';
+		}
+		flush();
+	}
+
+	/**
+	 * writes a non-negative number into the buffer in decimal without building a String
+	 *
+	 * @param value the number to write
+	 * @since 10/17/2026
+	 */
+	private void putNumber(long value) {
+		int digits = digits(value);
+		for (int i = used + digits - 1; i >= used; i--) {
+			chars[i] = (char) ('0' + value % 10);
+			value /= 10;
+		}
+		used += digits;
+	}
+
+	/**
+	 * @param value a non-negative number
+	 * @return the number of digits it has in decimal
+	 * @since 10/17/2026
+	 */
+	private static int digits(long value) {
+		int digits = 1;
+		while (value >= 10) {
+			value /= 10;
+			digits++;
+		}
+		return digits;
+	}
+
+	/**
+	 * hands everything in the buffer to the output and empties it
+	 *
+	 * @throws IOException if the output cannot be written to
+	 * @since 10/17/2026
+	 */
+	private void flush() throws IOException {
+		if (appendable != null) {
+			appendable.append(CharBuffer.wrap(chars, 0, used));
+		} else {
+			for (int i = 0; i < used; i++) {
+				bytes[i] = (byte) chars[i];
+			}
+			stream.write(bytes, 0, used);
+		}
+		used = 0;
+	}
+
+	/**
+	 * an image of a board whose pixels are only worked out when a strip of rows is asked
+	 * for. Its tiles are single rows, so an image writer that reads the image tile by tile
+	 * or row by row never needs the whole image.
+	 *
+	 * @since 10/17/2026
+	 */
+	private static final class StepImage implements RenderedImage {
+		private static final DirectColorModel COLORS = new DirectColorModel(24, 0xFF0000, 0x00FF00, 0x0000FF);
+
+		private final BoardStore board;
+		private final int cell;
+		private final int width;
+		private final int height;
+
+		/**
+		 * @param board the step numbers of the board
+		 * @param cell the number of pixels along each edge of a square
+		 * @since 10/17/2026
+		 */
+		StepImage(BoardStore board, int cell) {
+			this.board = board;
+			this.cell = cell;
+			width = Math.multiplyExact(board.getFiles(), cell);
+			height = Math.multiplyExact(board.getRanks(), cell);
+		}
+
+		/**
+		 * @param step a step number of the board
+		 * @return the colour of squares visited on that step
+		 * @since 10/17/2026
+		 */
+		private int color(long step) {
+			if (step <= 0) {
+				return 0;
+			}
+			float progress = (float) ((step - 1) / (double) Math.max(1, board.squares() - 1));
+			return Color.HSBtoRGB(progress * 0.8f, 0.85f, 0.95f) & 0xFFFFFF;
+		}
+
+		@Override
+		public Raster getData(Rectangle rect) {
+			WritableRaster raster = Raster.createWritableRaster(getSampleModel().createCompatibleSampleModel(
+					rect.width, rect.height), new Point(rect.x, rect.y));
+			copyData(raster);
+			return raster;
+		}
+
+		@Override
+		public WritableRaster copyData(WritableRaster raster) {
+			if (raster == null) {
+				raster = Raster.createWritableRaster(getSampleModel().createCompatibleSampleModel(width, height),
+						null);
+			}
+			int minX = raster.getMinX();
+			int[] row = new int[raster.getWidth()];
+			for (int y = raster.getMinY(); y < raster.getMinY() + raster.getHeight(); y++) {
+				int rank = y / cell;
+				for (int x = 0; x < row.length; x++) {
+					int file = (minX + x) / cell;
+					// squares are wider than a pixel, so reuse the colour of the last one
+					row[x] = x > 0 && (minX + x) % cell != 0 ? row[x - 1] : color(board.get(rank, file));
+				}
+				raster.setDataElements(minX, y, row.length, 1, row);
+			}
+			return raster;
+		}
+
+		@Override
+		public Raster getData() {
+			return getData(new Rectangle(0, 0, width, height));
+		}
+
+		@Override
+		public Raster getTile(int tileX, int tileY) {
+			return getData(new Rectangle(0, tileY, width, 1));
+		}
+
+		@Override
+		public SampleModel getSampleModel() {
+			return new SinglePixelPackedSampleModel(DataBuffer.TYPE_INT, width, 1, COLORS.getMasks());
+		}
+
+		@Override
+		public ColorModel getColorModel() {
+			return COLORS;
+		}
+
+		@Override
+		public Vector<RenderedImage> getSources() {
+			return null;
+		}
+
+		@Override
+		public Object getProperty(String name) {
+			return Image.UndefinedProperty;
+		}
+
+		@Override
+		public String[] getPropertyNames() {
+			return null;
+		}
+
+		@Override
+		public int getWidth() {
+			return width;
+		}
+
+		@Override
+		public int getHeight() {
+			return height;
+		}
+
+		@Override
+		public int getMinX() {
+			return 0;
+		}
+
+		@Override
+		public int getMinY() {
+			return 0;
+		}
+
+		@Override
+		public int getNumXTiles() {
+			return 1;
+		}
+
+		@Override
+		public int getNumYTiles() {
+			return height;
+		}
+
+		@Override
+		public int getMinTileX() {
+			return 0;
+		}
+
+		@Override
+		public int getMinTileY() {
+			return 0;
+		}
+
+		@Override
+		public int getTileWidth() {
+			return width;
+		}
+
+		@Override
+		public int getTileHeight() {
+			return 1;
+		}
+
+		@Override
+		public int getTileGridXOffset() {
+			return 0;
+		}
+
+		@Override
+		public int getTileGridYOffset() {
+			return 0;
+		}
+	}
+}
@@ -0,0 +1,276 @@
+package algorithms;
+
+import java.util.Arrays;
+
+/**
+ * counts of the work done while solving a board. The search counts nodes, backtracks and
+ * how often each pruning rule cut it off, including those of SolverOptions.setPruning();
+ * divide and conquer adds the time spent on each level of the split and in joinTours().
+ * The counters are plain fields bumped on the search path, cheap enough to always keep.
+ *
+ * Every board of a divide and conquer solve keeps its own counts, and joinTours() adds
+ * those of the four quarters into the merged board, so solving in parallel needs no
+ * synchronisation.
+ *
+ * @since 10/17/2026
+ */
+public class TourStats {
+	// number of corner formation rules, one per pair of squares in Tour's corner pairs
+	public static final int CORNER_RULES = 8;
+
+	// search counters, bumped directly by Tour
+	long nodes;
+	long backtracks;
+	long closurePrunes;
+	long blankCornerPrunes;
+	final long[] cornerPrunes;
+	long deadEndPrunes;
+	long floodFillPrunes;
+	long restarts;
+	long seed;
+
+	// divide and conquer counters
+	long baseCases;
+	long cacheHits;
+	long packHits;
+	long joins;
+	long joinNanos;
+	private long[] levelNanos;
+
+	/**
+	 * creates empty counts
+	 *
+	 * @since 10/17/2026
+	 */
+	public TourStats() {
+		cornerPrunes = new long[CORNER_RULES];
+		levelNanos = new long[0];
+	}
+
+	/**
+	 * simple getter
+	 *
+	 * @return the number of squares the search moved the knight to
+	 * @since 10/17/2026
+	 */
+	public long getNodes() {
+		return nodes;
+	}
+
+	/**
+	 * simple getter
+	 *
+	 * @return the number of times the search backed out of a square after trying every
+	 *         move from it
+	 * @since 10/17/2026
+	 */
+	public long getBacktracks() {
+		return backtracks;
+	}
+
+	/**
+	 * simple getter
+	 *
+	 * @return the number of moves rejected because the tour could no longer be closed
+	 * @since 10/17/2026
+	 */
+	public long getClosurePrunes() {
+		return closurePrunes;
+	}
+
+	/**
+	 * simple getter
+	 *
+	 * @return the number of moves rejected by oddTour() for landing on the top left corner
+	 * @since 10/17/2026
+	 */
+	public long getBlankCornerPrunes() {
+		return blankCornerPrunes;
+	}
+
+	/**
+	 * @param rule a corner formation rule from 0 to 7: two for the top left corner, then
+	 *             two each for the top right, bottom left and bottom right
+	 * @return the number of moves rejected for breaking that rule
+	 * @since 10/17/2026
+	 */
+	public long getCornerPrunes(int rule) {
+		return cornerPrunes[rule];
+	}
+
+	/**
+	 * simple getter
+	 *
+	 * @return the number of moves rejected for leaving a square that can no longer be
+	 *         reached, or more than one square that can only end the tour
+	 * @since 10/17/2026
+	 */
+	public long getDeadEndPrunes() {
+		return deadEndPrunes;
+	}
+
+	/**
+	 * simple getter
+	 *
+	 * @return the number of moves rejected for cutting the unvisited squares in two
+	 * @since 10/17/2026
+	 */
+	public long getFloodFillPrunes() {
+		return floodFillPrunes;
+	}
+
+	/**
+	 * simple getter
+	 *
+	 * @return the number of times a search ran out of nodes and started again, see
+	 *         SolverOptions.setNodeBudget()
+	 * @since 10/17/2026
+	 */
+	public long getRestarts() {
+		return restarts;
+	}
+
+	/**
+	 * simple getter
+	 *
+	 * @return the seed of the random tie-breaking after restarts, pass it to
+	 *         SolverOptions.setSeed() to solve the board the same way again
+	 * @since 10/17/2026
+	 */
+	public long getSeed() {
+		return seed;
+	}
+
+	/**
+	 * simple getter
+	 *
+	 * @return the number of base case boards solved, from the cache or by searching
+	 * @since 10/17/2026
+	 */
+	public long getBaseCases() {
+		return baseCases;
+	}
+
+	/**
+	 * simple getter
+	 *
+	 * @return the number of base case boards restored from the TourCache
+	 * @since 10/17/2026
+	 */
+	public long getCacheHits() {
+		return cacheHits;
+	}
+
+	/**
+	 * simple getter
+	 *
+	 * @return the number of base case boards restored from the TilePack
+	 * @since 10/17/2026
+	 */
+	public long getPackHits() {
+		return packHits;
+	}
+
+	/**
+	 * simple getter
+	 *
+	 * @return the number of calls to joinTours()
+	 * @since 10/17/2026
+	 */
+	public long getJoins() {
+		return joins;
+	}
+
+	/**
+	 * simple getter
+	 *
+	 * @return the nanoseconds spent in joinTours()
+	 * @since 10/17/2026
+	 */
+	public long getJoinNanos() {
+		return joinNanos;
+	}
+
+	/**
+	 * @return the number of levels of divide and conquer that were timed
+	 * @since 10/17/2026
+	 */
+	public int getLevels() {
+		return levelNanos.length;
+	}
+
+	/**
+	 * @param level a level of the split, 0 for the whole board
+	 * @return the nanoseconds spent solving the boards of that level, summed over the
+	 *         boards, or 0 if the split never got that deep
+	 * @since 10/17/2026
+	 */
+	public long getLevelNanos(int level) {
+		return level < levelNanos.length ? levelNanos[level] : 0;
+	}
+
+	/**
+	 * adds time spent solving a board on a level of divide and conquer
+	 *
+	 * @param level the level of the board, 0 for the whole board
+	 * @param nanos the time spent
+	 * @since 10/17/2026
+	 */
+	void addLevel(int level, long nanos) {
+		if (level >= levelNanos.length) {
+			levelNanos = Arrays.copyOf(levelNanos, level + 1);
+		}
+		levelNanos[level] += nanos;
+	}
+
+	/**
+	 * adds the counts of another board into these
+	 *
+	 * @param other the counts to add
+	 * @since 10/17/2026
+	 */
+	void add(TourStats other) {
+		nodes += other.nodes;
+		backtracks += other.backtracks;
+		closurePrunes += other.closurePrunes;
+		blankCornerPrunes += other.blankCornerPrunes;
+		for (int i = 0; i < CORNER_RULES; i++) {
+			cornerPrunes[i] += other.cornerPrunes[i];
+		}
+		deadEndPrunes += other.deadEndPrunes;
+		floodFillPrunes += other.floodFillPrunes;
+		restarts += other.restarts;
+		baseCases += other.baseCases;
+		cacheHits += other.cacheHits;
+		packHits += other.packHits;
+		joins += other.joins;
+		joinNanos += other.joinNanos;
+		for (int level = 0; level < other.levelNanos.length; level++) {
+			addLevel(level, other.levelNanos[level]);
+		}
+	}
+
+	/**
+	 * @return the counts on one line each
+	 * @since 10/17/2026
+	 */
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("nodes: ").append(nodes).append('\n');
+		sb.append("backtracks: ").append(backtracks).append('\n');
+		sb.append("closure prunes: ").append(closurePrunes).append('\n');
+		sb.append("blank corner prunes: ").append(blankCornerPrunes).append('\n');
+		sb.append("corner prunes: ").append(Arrays.toString(cornerPrunes)).append('\n');
+		sb.append("dead end prunes: ").append(deadEndPrunes).append('\n');
+		sb.append("flood fill prunes: ").append(floodFillPrunes).append('\n');
+		sb.append("restarts: ").append(restarts).append(" (seed ").append(seed).append(")\n");
+		sb.append("base cases: ").append(baseCases).append(" (").append(cacheHits).append(" cached, ")
+				.append(packHits).append(" packed)\n");
+		sb.append("joins: ").append(joins).append(" in ").append(joinNanos / 1000).append(" us\n");
+		for (int level = 0; level < levelNanos.length; level++) {
+			sb.append("level ").append(level).append(": ").append(levelNanos[level] / 1000).append(" us\n");
+		}
+		return sb.toString();
+	}
+}
@@ -0,0 +1,358 @@
+package algorithms;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * checks that a tour really is a knight's tour: every step is a knight move, every
+ * square of the board is visited exactly once and, if asked, the last square is a knight
+ * move from the first.
+ *
+ * A path is split into chunks that are checked on a fork/join pool. Each chunk reads its
+ * squares straight from the path, so composed paths are not copied, and marks them in one
+ * shared bitset of the board. A board store is checked rank by rank the same way, marking
+ * step numbers instead of squares.
+ *
+ * @since 10/17/2026
+ */
+public class TourValidator {
+	// default number of squares checked by one task
+	public static final int DEFAULT_CHUNK = 1 << 16;
+
+	private final ForkJoinPool pool;
+	private final int chunk;
+
+	/**
+	 * creates a validator that runs on the common pool
+	 *
+	 * @since 10/17/2026
+	 */
+	public TourValidator() {
+		this(ForkJoinPool.commonPool(), DEFAULT_CHUNK);
+	}
+
+	/**
+	 * creates a validator
+	 *
+	 * @param pool the pool to run the checks on
+	 * @param chunk the number of squares below which a task checks them on its own thread
+	 * @since 10/17/2026
+	 */
+	public TourValidator(ForkJoinPool pool, int chunk) {
+		this.pool = pool;
+		this.chunk = Math.max(chunk, 1);
+	}
+
+	/**
+	 * @param path the path of a tour
+	 * @param closed true to also require the tour to be closed
+	 * @return true if the path is a knight's tour of its whole board
+	 * @since 10/17/2026
+	 */
+	public boolean isValid(TourPath path, boolean closed) {
+		return problem(path, closed) == null;
+	}
+
+	/**
+	 * @param store the step numbers of a board
+	 * @param closed true to also require the tour to be closed
+	 * @return true if the step numbers form a knight's tour of the whole board
+	 * @since 10/17/2026
+	 */
+	public boolean isValid(BoardStore store, boolean closed) {
+		return problem(store, closed) == null;
+	}
+
+	/**
+	 * checks a tour before it is published
+	 *
+	 * @param path the path of a tour
+	 * @param closed true to also require the tour to be closed
+	 * @throws IllegalArgumentException describing a problem if the path is not a knight's
+	 *                                  tour of its whole board
+	 * @since 10/17/2026
+	 */
+	public void check(TourPath path, boolean closed) {
+		String problem = problem(path, closed);
+		if (problem != null) {
+			throw new IllegalArgumentException(problem);
+		}
+	}
+
+	/**
+	 * checks a tour before it is published
+	 *
+	 * @param store the step numbers of a board
+	 * @param closed true to also require the tour to be closed
+	 * @throws IllegalArgumentException describing a problem if the step numbers do not
+	 *                                  form a knight's tour of the whole board
+	 * @since 10/17/2026
+	 */
+	public void check(BoardStore store, boolean closed) {
+		String problem = problem(store, closed);
+		if (problem != null) {
+			throw new IllegalArgumentException(problem);
+		}
+	}
+
+	/**
+	 * @param path the path of a tour
+	 * @param closed true to also require the tour to be closed
+	 * @return a description of the first problem found, or null if there is none
+	 * @since 10/17/2026
+	 */
+	public String problem(TourPath path, boolean closed) {
+		int ranks = path.getRanks();
+		int files = path.getFiles();
+		long squares = (long) ranks * files;
+		if (path.size() != squares) {
+			return "tour visits " + path.size() + " squares of a board with " + squares;
+		}
+		if (squares == 0) {
+			return null;
+		}
+
+		AtomicReference<String> problem = new AtomicReference<>();
+		pool.invoke(new PathTask(path, 0, squares, chunk, new AtomicLongArray(words(squares)), problem));
+		if (problem.get() == null && closed) {
+			long first = path.squareAt(0);
+			long last = path.squareAt(squares - 1);
+			if (!isKnightMove((int) (last >>> 32), (int) last, (int) (first >>> 32), (int) first)) {
+				return "tour is not closed";
+			}
+		}
+		return problem.get();
+	}
+
+	/**
+	 * @param store the step numbers of a board
+	 * @param closed true to also require the tour to be closed
+	 * @return a description of the first problem found, or null if there is none
+	 * @since 10/17/2026
+	 */
+	public String problem(BoardStore store, boolean closed) {
+		long squares = store.squares();
+		if (squares == 0) {
+			return null;
+		}
+
+		AtomicReference<String> problem = new AtomicReference<>();
+		int ranksPerTask = Math.max(1, chunk / Math.max(store.getFiles(), 1));
+		pool.invoke(new BoardTask(store, 0, store.getRanks(), ranksPerTask, closed,
+				new AtomicLongArray(words(squares)), problem));
+		return problem.get();
+	}
+
+	/**
+	 * @return true if a knight can move from the first square to the second
+	 * @since 10/17/2026
+	 */
+	private static boolean isKnightMove(int fromRank, int fromFile, int toRank, int toFile) {
+		int rankOffset = Math.abs(toRank - fromRank);
+		int fileOffset = Math.abs(toFile - fromFile);
+		return (rankOffset == 1 && fileOffset == 2) || (rankOffset == 2 && fileOffset == 1);
+	}
+
+	/**
+	 * @param bits the number of bits in a bitset
+	 * @return the number of longs that hold them
+	 * @since 10/17/2026
+	 */
+	private static int words(long bits) {
+		return Math.toIntExact((bits + Long.SIZE - 1) / Long.SIZE);
+	}
+
+	/**
+	 * sets a bit in a shared bitset
+	 *
+	 * @param bits the bitset
+	 * @param bit the bit to set
+	 * @return false if the bit was already set
+	 * @since 10/17/2026
+	 */
+	private static boolean mark(AtomicLongArray bits, long bit) {
+		int word = (int) (bit >>> 6);
+		long mask = 1L << bit;
+		return (bits.getAndAccumulate(word, mask, (old, add) -> old | add) & mask) == 0;
+	}
+
+	/**
+	 * checks a range of a path, splitting it in half until it is no larger than a chunk.
+	 * Each range also reads the square before it so the move into the range is checked.
+	 *
+	 * @since 10/17/2026
+	 */
+	private static final class PathTask extends RecursiveAction implements SquareSink {
+		private static final long serialVersionUID = 1L;
+
+		private final TourPath path;
+		private final long from;
+		private final long count;
+		private final int chunk;
+		private final AtomicLongArray visited;
+		private final AtomicReference<String> problem;
+
+		// the index on the path of the next square read, and the square before it
+		private long index;
+		private int rank;
+		private int file;
+
+		/**
+		 * @param path the path to check
+		 * @param from the index of the first square to check
+		 * @param count the number of squares to check
+		 * @param chunk the number of squares below which a task checks them itself
+		 * @param visited the squares visited so far, shared by every task
+		 * @param problem the first problem found by any task
+		 * @since 10/17/2026
+		 */
+		PathTask(TourPath path, long from, long count, int chunk, AtomicLongArray visited,
+				AtomicReference<String> problem) {
+			this.path = path;
+			this.from = from;
+			this.count = count;
+			this.chunk = chunk;
+			this.visited = visited;
+			this.problem = problem;
+		}
+
+		@Override
+		protected void compute() {
+			if (problem.get() != null) {
+				return;
+			}
+			if (count > chunk) {
+				long half = count / 2;
+				invokeAll(new PathTask(path, from, half, chunk, visited, problem),
+						new PathTask(path, from + half, count - half, chunk, visited, problem));
+				return;
+			}
+
+			index = Math.max(from - 1, 0);
+			path.read(index, from + count - index, this);
+		}
+
+		/**
+		 * checks one square and the move that led to it
+		 *
+		 * @param rank the rank of the square
+		 * @param file the file of the square
+		 * @since 10/17/2026
+		 */
+		@Override
+		public void accept(int rank, int file) {
+			if (index >= from) {
+				if (rank < 0 || rank >= path.getRanks() || file < 0 || file >= path.getFiles()) {
+					report("step " + (index + 1) + " is off the board at [" + rank + "][" + file + "]");
+				} else if (index > 0 && !isKnightMove(this.rank, this.file, rank, file)) {
+					report("step " + (index + 1) + " is not a knight move");
+				} else if (!mark(visited, (long) rank * path.getFiles() + file)) {
+					report("square [" + rank + "][" + file + "] is visited twice");
+				}
+			}
+			index++;
+			this.rank = rank;
+			this.file = file;
+		}
+
+		/**
+		 * @param description the problem found
+		 * @since 10/17/2026
+		 */
+		private void report(String description) {
+			problem.compareAndSet(null, description);
+		}
+	}
+
+	/**
+	 * checks a range of ranks of a board store, splitting it in half until it is small
+	 * enough. Every step number must appear once, and every square but the last must have
+	 * the next step a knight move away.
+	 *
+	 * @since 10/17/2026
+	 */
+	private static final class BoardTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final BoardStore store;
+		private final int from;
+		private final int to;
+		private final int ranksPerTask;
+		private final boolean closed;
+		private final AtomicLongArray steps;
+		private final AtomicReference<String> problem;
+
+		/**
+		 * @param store the board to check
+		 * @param from the first rank to check
+		 * @param to one past the last rank to check
+		 * @param ranksPerTask the number of ranks below which a task checks them itself
+		 * @param closed true to also require the last step to lead back to the first
+		 * @param steps the step numbers seen so far, shared by every task
+		 * @param problem the first problem found by any task
+		 * @since 10/17/2026
+		 */
+		BoardTask(BoardStore store, int from, int to, int ranksPerTask, boolean closed, AtomicLongArray steps,
+				AtomicReference<String> problem) {
+			this.store = store;
+			this.from = from;
+			this.to = to;
+			this.ranksPerTask = ranksPerTask;
+			this.closed = closed;
+			this.steps = steps;
+			this.problem = problem;
+		}
+
+		@Override
+		protected void compute() {
+			if (problem.get() != null) {
+				return;
+			}
+			if (to - from > ranksPerTask) {
+				int middle = (from + to) >>> 1;
+				invokeAll(new BoardTask(store, from, middle, ranksPerTask, closed, steps, problem),
+						new BoardTask(store, middle, to, ranksPerTask, closed, steps, problem));
+				return;
+			}
+
+			long squares = store.squares();
+			for (int rank = from; rank < to && problem.get() == null; rank++) {
+				for (int file = 0; file < store.getFiles(); file++) {
+					long step = store.get(rank, file);
+					if (step < 1 || step > squares) {
+						problem.compareAndSet(null, "square [" + rank + "][" + file + "] has step " + step);
+						return;
+					}
+					if (!mark(steps, step - 1)) {
+						problem.compareAndSet(null, "step " + step + " is on more than one square");
+						return;
+					}
+					long next = step == squares ? 1 : step + 1;
+					if ((step < squares || closed) && !hasNeighbour(rank, file, next)) {
+						problem.compareAndSet(null, step < squares ? "step " + next + " is not a knight move"
+								: "tour is not closed");
+						return;
+					}
+				}
+			}
+		}
+
+		/**
+		 * @return true if a knight move from the square reaches the given step
+		 * @since 10/17/2026
+		 */
+		private boolean hasNeighbour(int rank, int file, long step) {
+			for (int i = 0; i < Tour.RANK_OFFSETS.length; i++) {
+				int toRank = rank + Tour.RANK_OFFSETS[i];
+				int toFile = file + Tour.FILE_OFFSETS[i];
+				if (toRank >= 0 && toRank < store.getRanks() && toFile >= 0 && toFile < store.getFiles()
+						&& store.get(toRank, toFile) == step) {
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+}
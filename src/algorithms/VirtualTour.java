@@ -0,0 +1,211 @@
+package algorithms;
+
+import java.util.HashMap;
+
+/**
+ * a divide and conquer knight's tour that is never written out square by square. It
+ * keeps the split structure of DNCTour() as composed TourPaths, sharing one path for
+ * every sub-board of the same shape, so only the base case tours and a few nodes per
+ * level of the split are held in memory.
+ *
+ * stepAt() and squareAt() answer point queries by descending the split structure, which
+ * takes time proportional to the number of levels, so boards far too large for an
+ * int[][] can still be queried.
+ *
+ * @since 10/17/2026
+ */
+public class VirtualTour {
+	// size members
+	private int ranks;
+	private int files;
+
+	// the composed path of the whole board
+	private TourPath path;
+
+	/**
+	 * builds the split structure of a knight's tour on a rectangular board
+	 *
+	 * @param ranks the number of ranks on the chess board
+	 * @param files the number of files on the chess board
+	 * @since 10/17/2026
+	 */
+	public VirtualTour(int ranks, int files) {
+		this.ranks = ranks;
+		this.files = files;
+		path = build(ranks, files, new HashMap<>());
+	}
+
+	/**
+	 * simple getter
+	 *
+	 * @return the number of ranks on the board
+	 * @since 10/17/2026
+	 */
+	public int getRanks() {
+		return ranks;
+	}
+
+	/**
+	 * simple getter
+	 *
+	 * @return the number of files on the board
+	 * @since 10/17/2026
+	 */
+	public int getFiles() {
+		return files;
+	}
+
+	/**
+	 * simple getter
+	 *
+	 * @return the composed path of the tour. Reading squares with rank() or file() would
+	 *         copy the whole path, squareAt() and find() do not.
+	 * @since 10/17/2026
+	 */
+	public TourPath getPath() {
+		return path;
+	}
+
+	/**
+	 * @return the number of squares the tour visits
+	 * @since 10/17/2026
+	 */
+	public long size() {
+		return path.size();
+	}
+
+	/**
+	 * finds when the knight visits a square
+	 *
+	 * @param rank the rank of the square
+	 * @param file the file of the square
+	 * @return the step on which the square is visited, starting from 1, or 0 if it is not
+	 *         visited
+	 * @since 10/17/2026
+	 */
+	public long stepAt(int rank, int file) {
+		return path.find(rank, file) + 1;
+	}
+
+	/**
+	 * finds where the knight is after a number of steps
+	 *
+	 * @param step the step, starting from 1
+	 * @return the square visited on that step
+	 * @since 10/17/2026
+	 */
+	public Move squareAt(long step) {
+		if (step < 1 || step > path.size()) {
+			throw new IndexOutOfBoundsException("step " + step + " is not on the tour");
+		}
+		long square = path.squareAt(step - 1);
+		return new Move((int) (square >>> 32), (int) square);
+	}
+
+	/**
+	 * numbers the squares of a board store in the order the tour visits them, see
+	 * MappedBoardStore for boards larger than the heap
+	 *
+	 * @param store a store for a board of the same size
+	 * @throws IllegalArgumentException if the store is for a board of another size
+	 * @since 10/17/2026
+	 */
+	public void writeTo(BoardStore store) {
+		store.fill(path);
+	}
+
+	/**
+	 * builds the path of a board the way DNCTour() solves it, reusing the path of any
+	 * shape of sub-board that was already built
+	 *
+	 * @param ranks the number of ranks on the board
+	 * @param files the number of files on the board
+	 * @param built the paths built so far, keyed by shape
+	 * @return the path of the board
+	 * @since 10/17/2026
+	 */
+	private static TourPath build(int ranks, int files, HashMap<Long, TourPath> built) {
+		Long key = ((long) ranks << 32) | files;
+		TourPath path = built.get(key);
+		if (path != null) {
+			return path;
+		}
+
+		if (Tour.isBaseCase(ranks, files)) {
+			Tour base = new Tour(ranks, files);
+			path = base.DNCTour().getPath();
+		} else if (Tour.isStrip(ranks, files)) {
+			path = buildStrip(ranks, files, built);
+		} else if (!Tour.canSplit(ranks, files)) {
+			// DNCTour() leaves such boards unsolved
+			path = new TourPath(ranks, files);
+		} else {
+			int[][] sizes = Tour.split(ranks, files);
+			TourPath[] k = new TourPath[sizes.length];
+			for (int i = 0; i < k.length; i++) {
+				k[i] = build(sizes[i][0], sizes[i][1], built);
+			}
+			path = Tour.joinPaths(k[0], k[1], k[2], k[3]);
+		}
+		built.put(key, path);
+		return path;
+	}
+
+	/**
+	 * builds the path of a long thin board the way stripTour() solves it, as a row of
+	 * tiles joined with Tour.joinStrip()
+	 *
+	 * @param ranks the number of ranks on the board
+	 * @param files the number of files on the board
+	 * @param built the paths built so far, keyed by shape
+	 * @return the path of the board
+	 * @since 10/17/2026
+	 */
+	private static TourPath buildStrip(int ranks, int files, HashMap<Long, TourPath> built) {
+		boolean vertical = ranks > files;
+		int across = vertical ? files : ranks;
+		int[] widths = Tour.stripWidths(vertical ? ranks : files, across);
+		TourPath[] tiles = new TourPath[widths.length];
+		for (int i = 0; i < widths.length; i++) {
+			TourPath tile = buildTile(across, widths[i], built);
+			tiles[i] = vertical ? tile.transpose() : tile;
+		}
+		return Tour.joinStrip(ranks, files, tiles, vertical);
+	}
+
+	/**
+	 * builds the path of one tile of a strip, across ranks by width files, the way
+	 * stripTour() solves it: by a base case search if it is short enough, or as a strip of
+	 * its own
+	 *
+	 * @param across the number of ranks of the tile
+	 * @param width the number of files of the tile
+	 * @param built the paths built so far, keyed by shape
+	 * @return the path of the tile
+	 * @since 10/17/2026
+	 */
+	private static TourPath buildTile(int across, int width, HashMap<Long, TourPath> built) {
+		// tiles are kept apart from sub-boards of the same shape, which may be solved
+		// another way
+		Long key = Long.MIN_VALUE | ((long) across << 32) | width;
+		TourPath path = built.get(key);
+		if (path != null) {
+			return path;
+		}
+
+		if (across <= Tour.MAX_TILE_LENGTH) {
+			Tour tile = new Tour(across, width);
+			tile.solveBaseCase();
+			path = tile.getPath();
+		} else {
+			int[] widths = Tour.stripWidths(across, width);
+			TourPath[] tiles = new TourPath[widths.length];
+			for (int i = 0; i < widths.length; i++) {
+				tiles[i] = buildTile(width, widths[i], built).transpose();
+			}
+			path = Tour.joinStrip(across, width, tiles, true);
+		}
+		built.put(key, path);
+		return path;
+	}
+}